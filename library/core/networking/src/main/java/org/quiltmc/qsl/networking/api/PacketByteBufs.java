@@ -19,12 +19,29 @@ package org.quiltmc.qsl.networking.api;
 import java.util.Objects;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
 
+import net.minecraft.network.ClientConnection;
 import net.minecraft.network.PacketByteBuf;
 
+import org.quiltmc.qsl.networking.impl.NetworkingImpl;
+
 /**
  * Helper methods for working with and creating {@link PacketByteBuf}s.
+ * <p>
+ * Buffers returned by {@link #create()} are managed by the garbage collector and do not need to be released.
+ * <p>
+ * Buffers returned by {@link #createPooled(int)}, {@link #createDirect(int)} and {@link #createPooled(ClientConnection, int)}
+ * are taken from a pool and are owned by the caller, which <b>must</b> release them exactly once when they are not used anymore,
+ * otherwise their memory is leaked.
+ * The simplest way to do so is to send them with {@link PacketSender#sendPacketAndRelease(net.minecraft.util.Identifier, PacketByteBuf)},
+ * which takes ownership of the buffer and releases it once it has been sent.
+ * Sending a pooled buffer with the other methods of {@link PacketSender} does not release it, and the buffer must not be released
+ * until the packet has been written.
+ * <p>
+ * Setting the {@code quilt.networking.debug_buffer_leaks} system property to {@code true} enables netty's advanced leak detection
+ * and records the channels the leaked buffers went through.
  */
 public final class PacketByteBufs {
 	private static final PacketByteBuf EMPTY_PACKET_BYTE_BUF = new PacketByteBuf(Unpooled.EMPTY_BUFFER);
@@ -47,6 +64,47 @@ public final class PacketByteBufs {
 		return new PacketByteBuf(Unpooled.buffer());
 	}
 
+	/**
+	 * Returns a new pooled heap memory-backed instance of packet byte buffer.
+	 * <p>
+	 * The returned buffer is owned by the caller and must be released, see the {@linkplain PacketByteBufs class documentation}.
+	 *
+	 * @param initialCapacity the initial capacity of the buffer
+	 * @return a new buffer
+	 */
+	public static PacketByteBuf createPooled(int initialCapacity) {
+		return new PacketByteBuf(ByteBufAllocator.DEFAULT.heapBuffer(initialCapacity));
+	}
+
+	/**
+	 * Returns a new pooled direct memory-backed instance of packet byte buffer.
+	 * <p>
+	 * Direct buffers can be written to the network without an extra copy.
+	 * The returned buffer is owned by the caller and must be released, see the {@linkplain PacketByteBufs class documentation}.
+	 *
+	 * @param initialCapacity the initial capacity of the buffer
+	 * @return a new buffer
+	 */
+	public static PacketByteBuf createDirect(int initialCapacity) {
+		return new PacketByteBuf(ByteBufAllocator.DEFAULT.directBuffer(initialCapacity));
+	}
+
+	/**
+	 * Returns a new instance of packet byte buffer allocated by the allocator of a connection,
+	 * which is the most suitable buffer to write to that connection.
+	 * <p>
+	 * The returned buffer is owned by the caller and must be released, see the {@linkplain PacketByteBufs class documentation}.
+	 *
+	 * @param connection      the connection the buffer is going to be sent to
+	 * @param initialCapacity the initial capacity of the buffer
+	 * @return a new buffer
+	 */
+	public static PacketByteBuf createPooled(ClientConnection connection, int initialCapacity) {
+		Objects.requireNonNull(connection, "Connection cannot be null");
+
+		return new PacketByteBuf(NetworkingImpl.getAllocator(connection).ioBuffer(initialCapacity));
+	}
+
 	// Convenience methods for byte buffer methods that return a new byte buffer
 
 	/**
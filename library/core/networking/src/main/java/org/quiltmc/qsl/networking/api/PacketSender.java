@@ -82,4 +82,41 @@ public interface PacketSender {
 
 		this.sendPacket(this.createPacket(channel, buf), callback);
 	}
+
+	/**
+	 * Sends a packet to a channel and releases its payload once it is not needed anymore.
+	 * <p>
+	 * This method takes ownership of the buffer, which is meant to be used with the pooled buffers
+	 * of {@link PacketByteBufs}; the caller must not use nor release the buffer afterwards.
+	 *
+	 * @param channel the identifier of the channel
+	 * @param buf the content of the packet
+	 * @see PacketByteBufs#createPooled(int)
+	 */
+	default void sendPacketAndRelease(Identifier channel, PacketByteBuf buf) {
+		Objects.requireNonNull(channel, "Channel cannot be null");
+		Objects.requireNonNull(buf, "Payload cannot be null");
+
+		// Without knowing how the packet is transferred, the payload may still be read after it has been sent, so copy it
+		try {
+			this.sendPacket(channel, PacketByteBufs.copy(buf));
+		} finally {
+			buf.release();
+		}
+	}
+
+	/**
+	 * Sends a packet to a channel as part of a batch.
+	 * <p>
+	 * Senders which support batching may hold the packet back, and later send it along with the other batched packets as a single packet,
+	 * for example at the end of the current tick.
+	 * Batched packets keep their order relative to each other, but not relative to packets sent immediately.
+	 * Senders which do not support batching, or whose other side cannot receive batches, send the packet immediately.
+	 *
+	 * @param channel the identifier of the channel
+	 * @param buf the content of the packet
+	 */
+	default void sendBatchedPacket(Identifier channel, PacketByteBuf buf) {
+		this.sendPacket(channel, buf);
+	}
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.api;
+
+import net.minecraft.network.PacketByteBuf;
+
+/**
+ * Decodes the payload of a custom packet into an object.
+ * <p>
+ * Decoders are executed on {@linkplain io.netty.channel.EventLoop netty's event loops} so that deserialization does not happen on the game thread.
+ * The decoded object is then handed over to a receiver on the game thread.
+ *
+ * @param <T> the type of the decoded payload
+ * @see ServerPlayNetworking#registerGlobalReceiver(net.minecraft.util.Identifier, PayloadDecoder, ServerPlayNetworking.PayloadReceiver)
+ * @see org.quiltmc.qsl.networking.api.client.ClientPlayNetworking#registerGlobalReceiver(net.minecraft.util.Identifier, PayloadDecoder, org.quiltmc.qsl.networking.api.client.ClientPlayNetworking.PayloadReceiver)
+ */
+@FunctionalInterface
+public interface PayloadDecoder<T> {
+	/**
+	 * Decodes the payload of a packet.
+	 * <p>
+	 * The returned object should be immutable and must not hold onto the buffer, as the buffer may be released as soon as this method returns.
+	 *
+	 * @param buf the payload of the packet
+	 * @return the decoded payload
+	 */
+	T decode(PacketByteBuf buf);
+}
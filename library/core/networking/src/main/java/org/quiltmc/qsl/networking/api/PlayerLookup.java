@@ -16,10 +16,15 @@
 
 package org.quiltmc.qsl.networking.api;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.entity.Entity;
@@ -28,15 +33,19 @@ import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerChunkManager;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.server.world.ThreadedAnvilChunkStorage;
+import net.minecraft.util.TypeFilter;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.util.math.Vec3i;
 import net.minecraft.world.chunk.ChunkManager;
 import net.minecraft.server.world.EntityTrackingListener;
 
+import org.quiltmc.qsl.networking.impl.server.TrackingPlayersView;
 import org.quiltmc.qsl.networking.mixin.accessor.EntityTrackerAccessor;
 import org.quiltmc.qsl.networking.mixin.accessor.ThreadedAnvilChunkStorageAccessor;
+import org.quiltmc.qsl.networking.mixin.accessor.WorldAccessor;
 
 /**
  * For example, a block entity may use the methods in this class to send a packet to all clients which can see the block entity in order to notify clients about a change.
@@ -46,6 +55,12 @@ import org.quiltmc.qsl.networking.mixin.accessor.ThreadedAnvilChunkStorageAccess
  * These methods should only be called on the server thread and only be used on logical a server.
  */
 public final class PlayerLookup {
+	/**
+	 * The number of players in a world above which players around a position are looked up by chunk section.
+	 */
+	private static final int SECTION_LOOKUP_THRESHOLD = 16;
+	private static final TypeFilter<Entity, ServerPlayerEntity> SERVER_PLAYER_FILTER = TypeFilter.instanceOf(ServerPlayerEntity.class);
+
 	/**
 	 * Gets all the players on the minecraft server.
 	 * <p>
@@ -97,7 +112,8 @@ public final class PlayerLookup {
 	/**
 	 * Gets all players tracking an entity in a server world.
 	 * <p>
-	 * The returned collection is immutable.
+	 * The returned collection is an immutable view of the entity tracker: it is not copied and reflects later tracking changes.
+	 * It should not be kept around, and the players tracking the entity should not change while iterating over it.
 	 * <p>
 	 * <b>Warning</b>: If the provided entity is a player, it is not
 	 * guaranteed by the contract that said player is included in the
@@ -106,8 +122,41 @@ public final class PlayerLookup {
 	 * @param entity the entity being tracked
 	 * @return the players tracking the entity
 	 * @throws IllegalArgumentException if the entity is not in a server world
+	 * @see #forEachTracking(Entity, Consumer)
 	 */
 	public static Collection<ServerPlayerEntity> tracking(Entity entity) {
+		Set<EntityTrackingListener> listeners = getTrackingListeners(entity);
+
+		if (listeners == null) {
+			return Collections.emptySet();
+		}
+
+		return new TrackingPlayersView(listeners);
+	}
+
+	/**
+	 * Visits all players tracking an entity in a server world, without collecting them.
+	 * <p>
+	 * <b>Warning</b>: If the provided entity is a player, it is not
+	 * guaranteed by the contract that said player is visited.
+	 *
+	 * @param entity the entity being tracked
+	 * @param action the action to run on each player tracking the entity
+	 * @throws IllegalArgumentException if the entity is not in a server world
+	 */
+	public static void forEachTracking(Entity entity, Consumer<? super ServerPlayerEntity> action) {
+		Objects.requireNonNull(action, "The action cannot be null");
+		Set<EntityTrackingListener> listeners = getTrackingListeners(entity);
+
+		if (listeners != null) {
+			for (EntityTrackingListener listener : listeners) {
+				action.accept(listener.getPlayer());
+			}
+		}
+	}
+
+	@Nullable
+	private static Set<EntityTrackingListener> getTrackingListeners(Entity entity) {
 		Objects.requireNonNull(entity, "Entity cannot be null");
 		ChunkManager manager = entity.world.getChunkManager();
 
@@ -115,13 +164,7 @@ public final class PlayerLookup {
 			ThreadedAnvilChunkStorage storage = serverManager.threadedAnvilChunkStorage;
 			EntityTrackerAccessor tracker = ((ThreadedAnvilChunkStorageAccessor) storage).getEntityTrackers().get(entity.getId());
 
-			// return an immutable collection to guard against accidental removals.
-			if (tracker != null) {
-				return Collections.unmodifiableCollection(tracker.getPlayersTracking()
-						.stream().map(EntityTrackingListener::getPlayer).collect(Collectors.toSet()));
-			}
-
-			return Collections.emptySet();
+			return tracker != null ? tracker.getPlayersTracking() : null;
 		}
 
 		throw new IllegalArgumentException("Only supported on server worlds!");
@@ -167,14 +210,12 @@ public final class PlayerLookup {
 	 * @param pos the position
 	 * @param radius the maximum distance from the position in blocks
 	 * @return the players around the position
+	 * @see #forEachAround(ServerWorld, Vec3d, double, Consumer)
 	 */
 	public static Collection<ServerPlayerEntity> around(ServerWorld world, Vec3d pos, double radius) {
-		double radiusSq = radius * radius;
-
-		return world(world)
-				.stream()
-				.filter((p) -> p.squaredDistanceTo(pos) <= radiusSq)
-				.collect(Collectors.toList());
+		List<ServerPlayerEntity> players = new ArrayList<>();
+		forEachAround(world, pos, radius, players::add);
+		return players;
 	}
 
 	/**
@@ -186,14 +227,93 @@ public final class PlayerLookup {
 	 * @param pos    the position (can be a block pos)
 	 * @param radius the maximum distance from the position in blocks
 	 * @return the players around the position
+	 * @see #forEachAround(ServerWorld, Vec3i, double, Consumer)
 	 */
 	public static Collection<ServerPlayerEntity> around(ServerWorld world, Vec3i pos, double radius) {
+		List<ServerPlayerEntity> players = new ArrayList<>();
+		forEachAround(world, pos, radius, players::add);
+		return players;
+	}
+
+	/**
+	 * Visits all players around a position in a world, without collecting them.
+	 * <p>
+	 * The distance check is done in the three-dimensional space instead of in the horizontal plane.
+	 * <p>
+	 * On crowded worlds, when the radius spans fewer chunk sections than there are players,
+	 * only the players in those chunk sections are looked up, using the world's entity section index.
+	 *
+	 * @param world  the world
+	 * @param pos    the position
+	 * @param radius the maximum distance from the position in blocks
+	 * @param action the action to run on each player around the position
+	 */
+	public static void forEachAround(ServerWorld world, Vec3d pos, double radius, Consumer<? super ServerPlayerEntity> action) {
+		Objects.requireNonNull(pos, "The position cannot be null");
+
+		forEachAround(world, pos.x, pos.y, pos.z, radius, action);
+	}
+
+	/**
+	 * Visits all players around a position in a world, without collecting them.
+	 * <p>
+	 * The distance check is done in the three-dimensional space instead of in the horizontal plane.
+	 * <p>
+	 * On crowded worlds, when the radius spans fewer chunk sections than there are players,
+	 * only the players in those chunk sections are looked up, using the world's entity section index.
+	 *
+	 * @param world  the world
+	 * @param pos    the position (can be a block pos)
+	 * @param radius the maximum distance from the position in blocks
+	 * @param action the action to run on each player around the position
+	 */
+	public static void forEachAround(ServerWorld world, Vec3i pos, double radius, Consumer<? super ServerPlayerEntity> action) {
+		Objects.requireNonNull(pos, "The position cannot be null");
+
+		forEachAround(world, pos.getX(), pos.getY(), pos.getZ(), radius, action);
+	}
+
+	private static void forEachAround(ServerWorld world, double x, double y, double z, double radius, Consumer<? super ServerPlayerEntity> action) {
+		Objects.requireNonNull(world, "The world cannot be null");
+		Objects.requireNonNull(action, "The action cannot be null");
+
 		double radiusSq = radius * radius;
+		List<ServerPlayerEntity> players = world.getPlayers();
+
+		if (players.size() <= SECTION_LOOKUP_THRESHOLD || countSections(world, radius) >= players.size()) {
+			// Scanning the players is cheaper than walking more chunk sections than there are players
+			for (int i = 0; i < players.size(); i++) {
+				ServerPlayerEntity player = players.get(i);
+
+				if (player.squaredDistanceTo(x, y, z) <= radiusSq) {
+					action.accept(player);
+				}
+			}
+
+			return;
+		}
+
+		var box = new Box(x - radius, y - radius, z - radius, x + radius, y + radius, z + radius);
+		((WorldAccessor) world).invokeGetEntityLookup().forEachIntersects(SERVER_PLAYER_FILTER, box, player -> {
+			if (player.squaredDistanceTo(x, y, z) <= radiusSq) {
+				action.accept(player);
+			}
+		});
+	}
+
+	/**
+	 * Counts the chunk sections spanned by a cube around a position, computed in floating point so that large radii cannot overflow.
+	 */
+	private static double countSections(ServerWorld world, double radius) {
+		if (!(radius >= 0) || Double.isInfinite(radius)) {
+			return Double.POSITIVE_INFINITY;
+		}
+
+		// Sections are 16 blocks wide on each axis
+		double horizontal = Math.floor(radius / 8) + 2;
+		double vertical = Math.min(Math.floor(radius / 8) + 2, world.countVerticalSections());
 
-		return world(world)
-				.stream()
-				.filter((p) -> p.squaredDistanceTo(pos.getX(), pos.getY(), pos.getZ()) <= radiusSq)
-				.collect(Collectors.toList());
+		return horizontal * horizontal * vertical;
 	}
 
 	private PlayerLookup() {
@@ -60,6 +60,28 @@ public final class ServerPlayNetworking {
 		return ServerNetworkingImpl.PLAY.registerGlobalReceiver(channelName, channelHandler);
 	}
 
+	/**
+	 * Registers a typed handler to a channel.
+	 * A global receiver is registered to all connections, in the present and future.
+	 * <p>
+	 * The payload of each packet is decoded by the {@code decoder} on netty's event loops,
+	 * then the decoded payload is handed to the {@code payloadReceiver} on the server thread.
+	 * The decoder must not keep a reference to the packet byte buf, which is released once the packet has been handled.
+	 * <p>
+	 * If a handler is already registered to the {@code channel}, this method will return {@code false}, and no change will be made.
+	 * Use {@link #unregisterReceiver(ServerPlayNetworkHandler, Identifier)} to unregister the existing handler.
+	 *
+	 * @param channelName the identifier of the channel
+	 * @param decoder the decoder of the packet payload
+	 * @param payloadReceiver the receiver of the decoded payload
+	 * @param <T> the type of the decoded payload
+	 * @return {@code false} if a handler is already registered to the channel, otherwise {@code true}
+	 * @see ServerPlayNetworking#registerGlobalReceiver(Identifier, ChannelReceiver)
+	 */
+	public static <T> boolean registerGlobalReceiver(Identifier channelName, PayloadDecoder<T> decoder, PayloadReceiver<T> payloadReceiver) {
+		return registerGlobalReceiver(channelName, ServerNetworkingImpl.createPayloadChannelReceiver(decoder, payloadReceiver));
+	}
+
 	/**
 	 * Removes the handler of a channel.
 	 * A global receiver is registered to all connections, in the present and future.
@@ -109,6 +131,28 @@ public final class ServerPlayNetworking {
 		return ServerNetworkingImpl.getAddon(networkHandler).registerChannel(channelName, channelHandler);
 	}
 
+	/**
+	 * Registers a typed handler to a channel.
+	 * This method differs from {@link ServerPlayNetworking#registerGlobalReceiver(Identifier, PayloadDecoder, PayloadReceiver)} since
+	 * the channel handler will only be applied to the player represented by the {@link ServerPlayNetworkHandler}.
+	 * <p>
+	 * The payload of each packet is decoded by the {@code decoder} on netty's event loops,
+	 * then the decoded payload is handed to the {@code payloadReceiver} on the server thread.
+	 * The decoder must not keep a reference to the packet byte buf, which is released once the packet has been handled.
+	 *
+	 * @param networkHandler the handler
+	 * @param channelName the identifier of the channel
+	 * @param decoder the decoder of the packet payload
+	 * @param payloadReceiver the receiver of the decoded payload
+	 * @param <T> the type of the decoded payload
+	 * @return {@code false} if a handler is already registered to the channel name, otherwise {@code true}
+	 * @see ServerPlayNetworking#registerReceiver(ServerPlayNetworkHandler, Identifier, ChannelReceiver)
+	 */
+	public static <T> boolean registerReceiver(ServerPlayNetworkHandler networkHandler, Identifier channelName,
+			PayloadDecoder<T> decoder, PayloadReceiver<T> payloadReceiver) {
+		return registerReceiver(networkHandler, channelName, ServerNetworkingImpl.createPayloadChannelReceiver(decoder, payloadReceiver));
+	}
+
 	/**
 	 * Removes the handler of a channel.
 	 * <p>
@@ -249,7 +293,27 @@ public final class ServerPlayNetworking {
 		Objects.requireNonNull(channelName, "Channel name cannot be null");
 		Objects.requireNonNull(buf, "Packet byte buf cannot be null");
 
-		player.networkHandler.sendPacket(createS2CPacket(channelName, buf));
+		ServerNetworkingImpl.getAddon(player.networkHandler).sendPacket(channelName, buf);
+	}
+
+	/**
+	 * Sends a packet to a player as part of a batch.
+	 * <p>
+	 * Batched packets are held back until the end of the current server tick and are then sent together as a single packet.
+	 * They keep their order relative to each other, but not relative to packets sent immediately.
+	 * If the client cannot receive batches, the packet is sent immediately.
+	 *
+	 * @param player the player to send the packet to
+	 * @param channelName the channel of the packet
+	 * @param buf the payload of the packet
+	 * @see PacketSender#sendBatchedPacket(Identifier, PacketByteBuf)
+	 */
+	public static void sendBatched(ServerPlayerEntity player, Identifier channelName, PacketByteBuf buf) {
+		Objects.requireNonNull(player, "Server player entity cannot be null");
+		Objects.requireNonNull(channelName, "Channel name cannot be null");
+		Objects.requireNonNull(buf, "Packet byte buf cannot be null");
+
+		ServerNetworkingImpl.getAddon(player.networkHandler).sendBatchedPacket(channelName, buf);
 	}
 
 	/**
@@ -261,8 +325,29 @@ public final class ServerPlayNetworking {
 	 */
 	public static void send(Collection<ServerPlayerEntity> players, Identifier channelName, PacketByteBuf buf) {
 		Objects.requireNonNull(players, "Players collection cannot be null");
+		Objects.requireNonNull(channelName, "Channel name cannot be null");
+		Objects.requireNonNull(buf, "Packet byte buf cannot be null");
 
-		players.forEach(player -> send(player, channelName, buf));
+		ServerNetworkingImpl.broadcast(players, channelName, buf, false);
+	}
+
+	/**
+	 * Sends a packet to every player of a collection which can receive packets on the given channel.
+	 * <p>
+	 * The packet is only encoded once and the encoded bytes are shared between all the players' connections,
+	 * which makes this method preferable to sending the packet to each player individually.
+	 *
+	 * @param players the players to send the packet to
+	 * @param channelName the channel of the packet
+	 * @param buf the payload of the packet
+	 * @see #canSend(ServerPlayerEntity, Identifier)
+	 */
+	public static void broadcast(Collection<ServerPlayerEntity> players, Identifier channelName, PacketByteBuf buf) {
+		Objects.requireNonNull(players, "Players collection cannot be null");
+		Objects.requireNonNull(channelName, "Channel name cannot be null");
+		Objects.requireNonNull(buf, "Packet byte buf cannot be null");
+
+		ServerNetworkingImpl.broadcast(players, channelName, buf, true);
 	}
 
 	// Helper methods
@@ -289,6 +374,7 @@ public final class ServerPlayNetworking {
 		 * <p>
 		 * This method is executed on {@linkplain io.netty.channel.EventLoop netty's event loops}.
 		 * Modification to the game should be {@linkplain net.minecraft.util.thread.ThreadExecutor#submit(Runnable) scheduled} using the provided Minecraft server instance.
+		 * The packet byte buf is released once this method returns, so it must be read before scheduling any task.
 		 * <p>
 		 * An example usage of this is to create an explosion where the player is looking:
 		 * <pre>{@code
@@ -310,4 +396,29 @@ public final class ServerPlayNetworking {
 		 */
 		void receive(MinecraftServer server, ServerPlayerEntity player, ServerPlayNetworkHandler handler, PacketByteBuf buf, PacketSender responseSender);
 	}
+
+	@FunctionalInterface
+	public interface PayloadReceiver<T> {
+		/**
+		 * Receives the decoded payload of an incoming packet.
+		 * <p>
+		 * This method is executed on the server thread.
+		 * The payload has already been decoded on {@linkplain io.netty.channel.EventLoop netty's event loops} by the decoder registered alongside this receiver.
+		 * <p>
+		 * An example usage of this is to create an explosion where the player is looking:
+		 * <pre>{@code
+		 * ServerPlayNetworking.registerGlobalReceiver(new Identifier("mymod", "boom"), PacketByteBuf::readBoolean,
+		 * 		(server, player, handler, fire, responseSender) -> {
+		 * 			ModPacketHandler.createExplosion(player, fire);
+		 * 		});
+		 * }</pre>
+		 *
+		 * @param server the server
+		 * @param player the player
+		 * @param handler the network handler that received this packet, representing the player/client who sent the packet
+		 * @param payload the decoded payload of the packet
+		 * @param responseSender the packet sender
+		 */
+		void receive(MinecraftServer server, ServerPlayerEntity player, ServerPlayNetworkHandler handler, T payload, PacketSender responseSender);
+	}
 }
@@ -30,6 +30,7 @@ import net.minecraft.util.Identifier;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import org.quiltmc.qsl.networking.api.PacketSender;
+import org.quiltmc.qsl.networking.api.PayloadDecoder;
 import org.quiltmc.qsl.networking.api.ServerPlayNetworking;
 import org.quiltmc.qsl.networking.impl.client.ClientNetworkingImpl;
 import org.quiltmc.qsl.networking.impl.client.ClientPlayNetworkAddon;
@@ -64,6 +65,27 @@ public final class ClientPlayNetworking {
 		return ClientNetworkingImpl.PLAY.registerGlobalReceiver(channelName, channelHandler);
 	}
 
+	/**
+	 * Registers a typed handler to a channel.
+	 * A global receiver is registered to all connections, in the present and future.
+	 * <p>
+	 * The payload of each packet is decoded by the {@code decoder} on netty's event loops,
+	 * then the decoded payload is handed to the {@code payloadReceiver} on the client thread.
+	 * <p>
+	 * If a handler is already registered to the {@code channel}, this method will return {@code false}, and no change will be made.
+	 * Use {@link #unregisterGlobalReceiver(Identifier)} to unregister the existing handler.
+	 *
+	 * @param channelName the identifier of the channel
+	 * @param decoder the decoder of the packet payload
+	 * @param payloadReceiver the receiver of the decoded payload
+	 * @param <T> the type of the decoded payload
+	 * @return {@code false} if a handler is already registered to the channel, otherwise {@code true}
+	 * @see ClientPlayNetworking#registerGlobalReceiver(Identifier, ChannelReceiver)
+	 */
+	public static <T> boolean registerGlobalReceiver(Identifier channelName, PayloadDecoder<T> decoder, PayloadReceiver<T> payloadReceiver) {
+		return registerGlobalReceiver(channelName, ClientNetworkingImpl.createPayloadChannelReceiver(decoder, payloadReceiver));
+	}
+
 	/**
 	 * Removes the handler of a channel.
 	 * A global receiver is registered to all connections, in the present and future.
@@ -114,6 +136,24 @@ public final class ClientPlayNetworking {
 		throw new IllegalStateException("Cannot register receiver while not in game!");
 	}
 
+	/**
+	 * Registers a typed handler to a channel.
+	 * <p>
+	 * The payload of each packet is decoded by the {@code decoder} on netty's event loops,
+	 * then the decoded payload is handed to the {@code payloadReceiver} on the client thread.
+	 *
+	 * @param channelName the identifier of the channel
+	 * @param decoder the decoder of the packet payload
+	 * @param payloadReceiver the receiver of the decoded payload
+	 * @param <T> the type of the decoded payload
+	 * @return {@code false} if a handler is already registered to the channel, otherwise {@code true}
+	 * @throws IllegalStateException if the client is not connected to a server
+	 * @see ClientPlayNetworking#registerReceiver(Identifier, ChannelReceiver)
+	 */
+	public static <T> boolean registerReceiver(Identifier channelName, PayloadDecoder<T> decoder, PayloadReceiver<T> payloadReceiver) {
+		return registerReceiver(channelName, ClientNetworkingImpl.createPayloadChannelReceiver(decoder, payloadReceiver));
+	}
+
 	/**
 	 * Removes the handler of a channel.
 	 * <p>
@@ -220,7 +260,29 @@ public final class ClientPlayNetworking {
 	public static void send(Identifier channelName, PacketByteBuf buf) throws IllegalStateException {
 		// You cant send without a client player, so this is fine
 		if (MinecraftClient.getInstance().getNetworkHandler() != null) {
-			MinecraftClient.getInstance().getNetworkHandler().sendPacket(createC2SPacket(channelName, buf));
+			ClientNetworkingImpl.getAddon(MinecraftClient.getInstance().getNetworkHandler()).sendPacket(channelName, buf);
+			return;
+		}
+
+		throw new IllegalStateException("Cannot send packets when not in game!");
+	}
+
+	/**
+	 * Sends a packet to the connected server as part of a batch.
+	 * <p>
+	 * Batched packets are held back until the end of the current client tick and are then sent together as a single packet.
+	 * They keep their order relative to each other, but not relative to packets sent immediately.
+	 * If the server cannot receive batches, the packet is sent immediately.
+	 *
+	 * @param channelName the channel of the packet
+	 * @param buf the payload of the packet
+	 * @throws IllegalStateException if the client is not connected to a server
+	 * @see PacketSender#sendBatchedPacket(Identifier, PacketByteBuf)
+	 */
+	public static void sendBatched(Identifier channelName, PacketByteBuf buf) throws IllegalStateException {
+		// You cant send without a client player, so this is fine
+		if (MinecraftClient.getInstance().getNetworkHandler() != null) {
+			ClientNetworkingImpl.getAddon(MinecraftClient.getInstance().getNetworkHandler()).sendBatchedPacket(channelName, buf);
 			return;
 		}
 
@@ -258,4 +320,29 @@ public final class ClientPlayNetworking {
 		 */
 		void receive(MinecraftClient client, ClientPlayNetworkHandler handler, PacketByteBuf buf, PacketSender responseSender);
 	}
+
+	@Environment(EnvType.CLIENT)
+	@FunctionalInterface
+	public interface PayloadReceiver<T> {
+		/**
+		 * Receives the decoded payload of an incoming packet.
+		 * <p>
+		 * This method is executed on the client thread.
+		 * The payload has already been decoded on {@linkplain io.netty.channel.EventLoop netty's event loops} by the decoder registered alongside this receiver.
+		 * <p>
+		 * An example usage of this is to display an overlay message:
+		 * <pre>{@code
+		 * ClientPlayNetworking.registerReceiver(new Identifier("mymod", "overlay"), buf -> buf.readString(32767),
+		 * 		(client, handler, message, responseSender) -> {
+		 * 			client.inGameHud.setOverlayMessage(message, true);
+		 * 		});
+		 * }</pre>
+		 *
+		 * @param client the client
+		 * @param handler the network handler that received this packet
+		 * @param payload the decoded payload of the packet
+		 * @param responseSender the packet sender
+		 */
+		void receive(MinecraftClient client, ClientPlayNetworkHandler handler, T payload, PacketSender responseSender);
+	}
 }
@@ -18,6 +18,7 @@ package org.quiltmc.qsl.networking.impl;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -25,7 +26,9 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
-import io.netty.util.AsciiString;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
 import org.jetbrains.annotations.ApiStatus;
@@ -51,6 +54,19 @@ public abstract class AbstractChanneledNetworkAddon<H> extends AbstractNetworkAd
 	protected final GlobalReceiverRegistry<H> receiver;
 	protected final Set<Identifier> sendableChannels;
 	protected final Set<Identifier> sendableChannelsView;
+	// Compact channel IDs, see NetworkingImpl#CHANNEL_IDS_CHANNEL.
+	// The IDs we assigned to our receivable channels, guarded by itself.
+	private final Object2IntMap<Identifier> localChannelIds = new Object2IntOpenHashMap<>();
+	// Dispatch table indexed by the IDs we assigned, replaced as a whole whenever it changes.
+	private volatile IndexedChannel<?>[] indexedChannels = new IndexedChannel<?>[0];
+	// The IDs the other side assigned to the channels we may send packets on, replaced as a whole whenever it changes.
+	private volatile Object2IntMap<Identifier> remoteChannelIds = copyRemoteChannelIds(Object2IntMaps.emptyMap());
+	private boolean sendsChannelIds;
+	// Bundles, see NetworkingImpl#BUNDLE_CHANNEL
+	private final Object bundleLock = new Object();
+	private volatile boolean bundlesAccepted;
+	@Nullable
+	private PacketByteBuf pendingBundle; // guarded by bundleLock
 
 	protected AbstractChanneledNetworkAddon(GlobalReceiverRegistry<H> receiver, ClientConnection connection, String description) {
 		this(receiver, connection, new HashSet<>(), description);
@@ -79,6 +95,10 @@ public abstract class AbstractChanneledNetworkAddon<H> extends AbstractNetworkAd
 	protected boolean handle(Identifier channelName, PacketByteBuf originalBuf) {
 		this.logger.debug("Handling inbound packet from channel with name \"{}\"", channelName);
 
+		if (NetworkingImpl.DEBUG_BUFFER_LEAKS) {
+			originalBuf.touch(channelName);
+		}
+
 		// Handle reserved packets
 		if (NetworkingImpl.REGISTER_CHANNEL.equals(channelName)) {
 			this.receiveRegistration(true, PacketByteBufs.slice(originalBuf));
@@ -90,32 +110,67 @@ public abstract class AbstractChanneledNetworkAddon<H> extends AbstractNetworkAd
 			return true;
 		}
 
-		@Nullable H handler = this.getHandler(channelName);
+		if (NetworkingImpl.CHANNEL_IDS_CHANNEL.equals(channelName)) {
+			this.receiveChannelIds(PacketByteBufs.slice(originalBuf));
+			return true;
+		}
+
+		if (NetworkingImpl.BUNDLE_CHANNEL.equals(channelName)) {
+			this.receiveBundle(PacketByteBufs.slice(originalBuf));
+			return true;
+		}
+
+		@Nullable H handler;
+		PacketByteBuf buf = PacketByteBufs.slice(originalBuf);
+
+		if (NetworkingImpl.INDEXED_PAYLOAD_CHANNEL.equals(channelName)) {
+			IndexedChannel<H> indexed = this.getIndexedChannel(buf.readVarInt());
+
+			if (indexed == null) {
+				return false;
+			}
+
+			channelName = indexed.channel();
+			handler = indexed.handler();
+		} else {
+			handler = this.getHandler(channelName);
+		}
 
 		if (handler == null) {
 			return false;
 		}
 
-		PacketByteBuf buf = PacketByteBufs.slice(originalBuf);
+		this.dispatch(channelName, handler, buf);
+		return true;
+	}
 
+	private void dispatch(Identifier channelName, H handler, PacketByteBuf buf) {
 		try {
 			this.receive(handler, buf);
 		} catch (Throwable ex) {
 			this.logger.error("Encountered exception while handling in channel with name \"{}\"", channelName, ex);
 			throw ex;
 		}
-
-		return true;
 	}
 
 	protected abstract void receive(H handler, PacketByteBuf buf);
 
 	protected void sendInitialChannelRegistrationPacket() {
-		final PacketByteBuf buf = this.createRegistrationPacket(this.getReceivableChannels());
-
-		if (buf != null) {
-			this.sendPacket(NetworkingImpl.REGISTER_CHANNEL, buf);
+		final PacketByteBuf buf = PacketByteBufs.create();
+		// Most connections receive on the global channels only, whose encoded names are shared between connections
+		final byte[] globalChannels = this.receiver.getEncodedChannels(this.getReceivableChannelsView());
+
+		if (globalChannels != null) {
+			buf.writeBytes(globalChannels);
+		} else {
+			NetworkingImpl.writeChannelNames(buf, this.getReceivableChannelsView());
 		}
+
+		// Declare that we understand compact channel IDs and bundles, see NetworkingImpl#CHANNEL_IDS_CHANNEL and NetworkingImpl#BUNDLE_CHANNEL
+		NetworkingImpl.writeChannelName(buf, NetworkingImpl.CHANNEL_IDS_CHANNEL);
+		NetworkingImpl.writeChannelName(buf, NetworkingImpl.BUNDLE_CHANNEL);
+
+		this.sendPacket(NetworkingImpl.REGISTER_CHANNEL, buf);
 	}
 
 	@Nullable
@@ -125,51 +180,348 @@ public abstract class AbstractChanneledNetworkAddon<H> extends AbstractNetworkAd
 		}
 
 		PacketByteBuf buf = PacketByteBufs.create();
-		boolean first = true;
-
-		for (Identifier channel : channels) {
-			if (first) {
-				first = false;
-			} else {
-				buf.writeByte(0);
-			}
-
-			buf.writeBytes(channel.toString().getBytes(StandardCharsets.US_ASCII));
-		}
-
+		NetworkingImpl.writeChannelNames(buf, channels);
 		return buf;
 	}
 
 	// wrap in try with res (buf)
 	protected void receiveRegistration(boolean register, PacketByteBuf buf) {
 		var ids = new ArrayList<Identifier>();
-		var active = new StringBuilder();
+		final int end = buf.writerIndex();
+		int start = buf.readerIndex();
 
-		while (buf.isReadable()) {
-			byte b = buf.readByte();
+		// Channel names are separated by NUL bytes, scan the buffer in place for them
+		while (start <= end) {
+			int separator = buf.indexOf(start, end, (byte) 0);
+			int stop = separator == -1 ? end : separator;
 
-			if (b != 0) {
-				active.append(AsciiString.b2c(b));
-			} else {
-				this.addId(ids, active);
-				active = new StringBuilder();
+			if (stop > start) {
+				this.addId(ids, buf.toString(start, stop - start, StandardCharsets.US_ASCII));
 			}
+
+			start = stop + 1;
 		}
 
-		this.addId(ids, active);
+		buf.readerIndex(end);
 		this.schedule(register ? () -> register(ids) : () -> unregister(ids));
 	}
 
 	void register(List<Identifier> ids) {
+		if (ids.remove(NetworkingImpl.CHANNEL_IDS_CHANNEL)) {
+			this.startSendingChannelIds();
+		}
+
+		if (ids.remove(NetworkingImpl.BUNDLE_CHANNEL)) {
+			this.bundlesAccepted = true;
+		}
+
 		this.sendableChannels.addAll(ids);
 		this.invokeRegisterEvent(ids);
 	}
 
 	void unregister(List<Identifier> ids) {
 		this.sendableChannels.removeAll(ids);
+		this.removeRemoteChannelIds(ids);
 		this.invokeUnregisterEvent(ids);
 	}
 
+	@Override
+	public boolean registerChannel(Identifier channelName, H handler) {
+		final boolean registered = super.registerChannel(channelName, handler);
+
+		if (registered) {
+			synchronized (this.localChannelIds) {
+				if (this.sendsChannelIds) {
+					this.sendChannelIds(Collections.singleton(channelName));
+				}
+			}
+		}
+
+		return registered;
+	}
+
+	@Override
+	public H unregisterChannel(Identifier channelName) {
+		final H removed = super.unregisterChannel(channelName);
+
+		if (removed != null) {
+			synchronized (this.localChannelIds) {
+				if (this.localChannelIds.containsKey(channelName)) {
+					this.setIndexedChannel(this.localChannelIds.getInt(channelName), null);
+				}
+			}
+		}
+
+		return removed;
+	}
+
+	// Compact channel IDs
+
+	private void startSendingChannelIds() {
+		synchronized (this.localChannelIds) {
+			if (!this.sendsChannelIds) {
+				this.sendsChannelIds = true;
+				this.sendChannelIds(this.getReceivableChannels());
+			}
+		}
+	}
+
+	// Must be called while synchronized on localChannelIds
+	private void sendChannelIds(Collection<Identifier> channels) {
+		final List<Identifier> assigned = new ArrayList<>(channels.size());
+
+		for (Identifier channel : channels) {
+			H handler = this.getHandler(channel);
+
+			if (handler != null) {
+				int id = this.localChannelIds.computeIfAbsent(channel, c -> this.localChannelIds.size());
+				this.setIndexedChannel(id, new IndexedChannel<>(channel, handler));
+				assigned.add(channel);
+			}
+		}
+
+		if (assigned.isEmpty()) {
+			return;
+		}
+
+		final PacketByteBuf buf = PacketByteBufs.create();
+		buf.writeVarInt(assigned.size());
+
+		for (Identifier channel : assigned) {
+			buf.writeVarInt(this.localChannelIds.getInt(channel));
+			buf.writeIdentifier(channel);
+		}
+
+		this.sendPacket(NetworkingImpl.CHANNEL_IDS_CHANNEL, buf);
+	}
+
+	// Must be called while synchronized on localChannelIds
+	private void setIndexedChannel(int id, @Nullable IndexedChannel<H> channel) {
+		IndexedChannel<?>[] indexedChannels = this.indexedChannels;
+		indexedChannels = Arrays.copyOf(indexedChannels, Math.max(indexedChannels.length, id + 1));
+		indexedChannels[id] = channel;
+		this.indexedChannels = indexedChannels;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nullable
+	private IndexedChannel<H> getIndexedChannel(int id) {
+		final IndexedChannel<?>[] indexedChannels = this.indexedChannels;
+
+		if (id < 0 || id >= indexedChannels.length) {
+			return null;
+		}
+
+		return (IndexedChannel<H>) indexedChannels[id];
+	}
+
+	private void receiveChannelIds(PacketByteBuf buf) {
+		int n = buf.readVarInt();
+		// Not presized, the count comes from the remote side and is only trusted as far as the packet can back it
+		var ids = new Object2IntOpenHashMap<Identifier>();
+
+		for (int i = 0; i < n; i++) {
+			int id = buf.readVarInt();
+			ids.put(buf.readIdentifier(), id);
+		}
+
+		this.schedule(() -> {
+			final Object2IntMap<Identifier> remoteChannelIds = copyRemoteChannelIds(this.remoteChannelIds);
+			remoteChannelIds.putAll(ids);
+			this.remoteChannelIds = remoteChannelIds;
+		});
+	}
+
+	private void removeRemoteChannelIds(List<Identifier> ids) {
+		final Object2IntMap<Identifier> remoteChannelIds = copyRemoteChannelIds(this.remoteChannelIds);
+		remoteChannelIds.keySet().removeAll(ids);
+		this.remoteChannelIds = remoteChannelIds;
+	}
+
+	private static Object2IntMap<Identifier> copyRemoteChannelIds(Object2IntMap<Identifier> ids) {
+		final Object2IntMap<Identifier> copy = new Object2IntOpenHashMap<>(ids);
+		copy.defaultReturnValue(-1);
+		return copy;
+	}
+
+	// Bundles
+
+	/**
+	 * {@return {@code true} if the other side declared the ability to receive bundles, otherwise {@code false}}
+	 */
+	protected boolean canSendBundles() {
+		return this.bundlesAccepted;
+	}
+
+	/**
+	 * Queues a packet in the pending bundle, which is sent on the next {@link #flushBundle()}.
+	 * <p>
+	 * If the packet does not fit in the pending bundle, the pending bundle is flushed and the packet is sent right away.
+	 *
+	 * @param channelName the identifier of the channel
+	 * @param buf the content of the packet
+	 * @param maxBundleSize the maximum size of a bundle payload
+	 */
+	protected void queueBundledPacket(Identifier channelName, PacketByteBuf buf, int maxBundleSize) {
+		synchronized (this.bundleLock) {
+			if (this.pendingBundle == null) {
+				this.pendingBundle = PacketByteBufs.create();
+			}
+
+			final int mark = this.pendingBundle.writerIndex();
+			final int id = this.remoteChannelIds.getInt(channelName);
+
+			if (id != -1 && this.sendableChannels.contains(channelName)) {
+				this.pendingBundle.writeVarInt(id + 1);
+			} else {
+				this.pendingBundle.writeVarInt(0);
+				this.pendingBundle.writeIdentifier(channelName);
+			}
+
+			this.pendingBundle.writeVarInt(buf.readableBytes());
+			this.pendingBundle.writeBytes(buf, buf.readerIndex(), buf.readableBytes());
+
+			if (this.pendingBundle.writerIndex() > maxBundleSize) {
+				this.pendingBundle.writerIndex(mark);
+				this.flushBundle();
+				this.sendPacket(channelName, buf);
+			}
+		}
+	}
+
+	/**
+	 * Sends the pending bundle, if there is any.
+	 */
+	public void flushBundle() {
+		final PacketByteBuf bundle;
+
+		synchronized (this.bundleLock) {
+			bundle = this.pendingBundle;
+			this.pendingBundle = null;
+
+			if (bundle != null && bundle.isReadable()) {
+				this.sendPacket(NetworkingImpl.BUNDLE_CHANNEL, bundle);
+			}
+		}
+	}
+
+	private void receiveBundle(PacketByteBuf buf) {
+		while (buf.isReadable()) {
+			final int key = buf.readVarInt();
+			@Nullable Identifier channelName;
+			@Nullable H handler;
+
+			if (key == 0) {
+				channelName = buf.readIdentifier();
+				handler = this.getHandler(channelName);
+			} else {
+				IndexedChannel<H> indexed = this.getIndexedChannel(key - 1);
+				channelName = indexed == null ? null : indexed.channel();
+				handler = indexed == null ? null : indexed.handler();
+			}
+
+			final PacketByteBuf entry = PacketByteBufs.readSlice(buf, buf.readVarInt());
+
+			if (handler == null) {
+				this.logger.debug("Skipping bundled packet from unknown channel \"{}\"", channelName == null ? key - 1 : channelName);
+				continue;
+			}
+
+			this.dispatch(channelName, handler, entry);
+		}
+	}
+
+	/**
+	 * Makes a packet for a channel, using the compact ID the other side assigned to the channel if there is one.
+	 *
+	 * @param channelName the identifier of the channel
+	 * @param buf the content of the packet
+	 * @return the packet
+	 */
+	@Override
+	public Packet<?> createPacket(Identifier channelName, PacketByteBuf buf) {
+		final Packet<?> indexed = this.createIndexedPacket(channelName, buf);
+		return indexed != null ? indexed : this.createChannelPacket(channelName, buf);
+	}
+
+	/**
+	 * Makes a packet for a channel using the compact ID the other side assigned to the channel.
+	 * The content of the packet is copied.
+	 *
+	 * @param channelName the identifier of the channel
+	 * @param buf the content of the packet
+	 * @return the packet, or {@code null} if the other side did not assign an ID to the channel
+	 */
+	@Nullable
+	private Packet<?> createIndexedPacket(Identifier channelName, PacketByteBuf buf) {
+		final int id = this.remoteChannelIds.getInt(channelName);
+
+		if (id == -1 || !this.sendableChannels.contains(channelName)) {
+			return null;
+		}
+
+		final PacketByteBuf indexed = PacketByteBufs.create();
+		indexed.writeVarInt(id);
+		indexed.writeBytes(buf, buf.readerIndex(), buf.readableBytes());
+
+		return this.createChannelPacket(NetworkingImpl.INDEXED_PAYLOAD_CHANNEL, indexed);
+	}
+
+	/**
+	 * Makes a custom payload packet for a channel as-is.
+	 *
+	 * @param channelName the identifier of the channel
+	 * @param buf the content of the packet
+	 * @return the packet
+	 */
+	protected abstract Packet<?> createChannelPacket(Identifier channelName, PacketByteBuf buf);
+
+	@Override
+	public void sendPacketAndRelease(Identifier channel, PacketByteBuf buf) {
+		Objects.requireNonNull(channel, "Channel cannot be null");
+		Objects.requireNonNull(buf, "Payload cannot be null");
+
+		if (NetworkingImpl.DEBUG_BUFFER_LEAKS) {
+			buf.touch(channel);
+		}
+
+		if (this.connection.isLocal()) {
+			// Local connections hand the packet itself to the other side, which reads the payload after it has been sent
+			PacketSender.super.sendPacketAndRelease(channel, buf);
+			return;
+		}
+
+		final Packet<?> packet;
+		final boolean copied;
+
+		try {
+			final Packet<?> indexed = this.createIndexedPacket(channel, buf);
+
+			if (indexed != null) {
+				// The payload has already been copied into the indexed packet
+				packet = indexed;
+				copied = true;
+			} else if (!this.connection.isOpen()) {
+				// The packet is queued until the connection opens, and dropped without notifying any listener if it closes first
+				packet = this.createChannelPacket(channel, PacketByteBufs.copy(buf));
+				copied = true;
+			} else {
+				packet = this.createChannelPacket(channel, buf);
+				copied = false;
+			}
+		} catch (Throwable t) {
+			buf.release();
+			throw t;
+		}
+
+		if (copied) {
+			buf.release();
+			this.sendPacket(packet);
+		} else {
+			this.sendPacket(packet, future -> buf.release());
+		}
+	}
+
 	@Override
 	public void sendPacket(Packet<?> packet) {
 		Objects.requireNonNull(packet, "Packet cannot be null");
@@ -193,9 +545,7 @@ public abstract class AbstractChanneledNetworkAddon<H> extends AbstractNetworkAd
 
 	protected abstract void invokeUnregisterEvent(List<Identifier> ids);
 
-	private void addId(List<Identifier> ids, StringBuilder sb) {
-		String literal = sb.toString();
-
+	private void addId(List<Identifier> ids, String literal) {
 		try {
 			ids.add(new Identifier(literal));
 		} catch (InvalidIdentifierException ex) {
@@ -206,4 +556,7 @@ public abstract class AbstractChanneledNetworkAddon<H> extends AbstractNetworkAd
 	public Set<Identifier> getSendableChannels() {
 		return this.sendableChannelsView;
 	}
+
+	private record IndexedChannel<H>(Identifier channel, H handler) {
+	}
 }
@@ -16,14 +16,14 @@
 
 package org.quiltmc.qsl.networking.impl;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import org.jetbrains.annotations.ApiStatus;
@@ -42,11 +42,11 @@ import net.minecraft.util.Identifier;
 public abstract class AbstractNetworkAddon<H> {
 	protected final GlobalReceiverRegistry<H> receiver;
 	protected final Logger logger;
-	// A lock is used due to possible access on netty's event loops and game thread at same times such as during dynamic registration
-	private final ReadWriteLock lock = new ReentrantReadWriteLock();
-	// Sync map should be fine as there is little read write competition
-	// All access to this map is guarded by the lock
-	private final Map<Identifier, H> handlers = new Object2ObjectOpenHashMap<>();
+	// Handlers are looked up on netty's event loops for every packet while registration is rare,
+	// so the map is copied on write and published as an immutable snapshot which can be read without locking.
+	// The lock only serializes writers, such as during dynamic registration.
+	private final Lock lock = new ReentrantLock();
+	private volatile Map<Identifier, H> handlers = new Object2ObjectOpenHashMap<>();
 	private final AtomicBoolean disconnected = new AtomicBoolean(); // blocks redundant disconnect notifications
 
 	protected AbstractNetworkAddon(GlobalReceiverRegistry<H> receiver, String description) {
@@ -56,14 +56,7 @@ public abstract class AbstractNetworkAddon<H> {
 
 	@Nullable
 	public H getHandler(Identifier channel) {
-		Lock lock = this.lock.readLock();
-		lock.lock();
-
-		try {
-			return this.handlers.get(channel);
-		} finally {
-			lock.unlock();
-		}
+		return this.handlers.get(channel);
 	}
 
 	public boolean registerChannel(Identifier channelName, H handler) {
@@ -74,19 +67,21 @@ public abstract class AbstractNetworkAddon<H> {
 			throw new IllegalArgumentException(String.format("Cannot register handler for reserved channel with name \"%s\"", channelName));
 		}
 
-		Lock lock = this.lock.writeLock();
-		lock.lock();
+		this.lock.lock();
 
 		try {
-			final boolean replaced = this.handlers.putIfAbsent(channelName, handler) == null;
-
-			if (replaced) {
-				this.handleRegistration(channelName);
+			if (this.handlers.containsKey(channelName)) {
+				return false;
 			}
 
-			return replaced;
+			var handlers = new Object2ObjectOpenHashMap<>(this.handlers);
+			handlers.put(channelName, handler);
+			this.handlers = handlers;
+			this.handleRegistration(channelName);
+
+			return true;
 		} finally {
-			lock.unlock();
+			this.lock.unlock();
 		}
 	}
 
@@ -97,31 +92,33 @@ public abstract class AbstractNetworkAddon<H> {
 			throw new IllegalArgumentException(String.format("Cannot register handler for reserved channel with name \"%s\"", channelName));
 		}
 
-		Lock lock = this.lock.writeLock();
-		lock.lock();
+		this.lock.lock();
 
 		try {
-			final H removed = this.handlers.remove(channelName);
-
-			if (removed != null) {
-				this.handleUnregistration(channelName);
+			if (!this.handlers.containsKey(channelName)) {
+				return null;
 			}
 
+			var handlers = new Object2ObjectOpenHashMap<>(this.handlers);
+			final H removed = handlers.remove(channelName);
+			this.handlers = handlers;
+			this.handleUnregistration(channelName);
+
 			return removed;
 		} finally {
-			lock.unlock();
+			this.lock.unlock();
 		}
 	}
 
 	public Set<Identifier> getReceivableChannels() {
-		Lock lock = this.lock.readLock();
-		lock.lock();
+		return new HashSet<>(this.handlers.keySet());
+	}
 
-		try {
-			return new HashSet<>(this.handlers.keySet());
-		} finally {
-			lock.unlock();
-		}
+	/**
+	 * {@return an unmodifiable view of the channels this addon currently handles, which does not reflect later changes}
+	 */
+	protected Set<Identifier> getReceivableChannelsView() {
+		return Collections.unmodifiableSet(this.handlers.keySet());
 	}
 
 	protected abstract void handleRegistration(Identifier channelName);
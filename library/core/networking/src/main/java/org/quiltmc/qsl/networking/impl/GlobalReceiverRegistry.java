@@ -16,44 +16,45 @@
 
 package org.quiltmc.qsl.networking.impl;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
+import net.minecraft.network.PacketByteBuf;
 import net.minecraft.util.Identifier;
 
+import org.quiltmc.qsl.networking.api.PacketByteBufs;
+
 @ApiStatus.Internal
 public final class GlobalReceiverRegistry<H> {
-	private final ReadWriteLock lock = new ReentrantReadWriteLock();
-	private final Map<Identifier, H> receivers;
+	// Receivers are read on netty's event loops far more often than they are registered,
+	// so reads go through an immutable snapshot and writes copy the map then publish a new snapshot.
+	// The lock serializes writers and guards the tracked addons.
+	private final Lock lock = new ReentrantLock();
+	private volatile Map<Identifier, H> receivers;
 	private final Set<AbstractNetworkAddon<H>> trackedAddons = new HashSet<>();
+	// The names of the channels of a receivers snapshot encoded for registration, invalidated when the snapshot is replaced
+	private volatile EncodedChannels encodedChannels;
 
 	public GlobalReceiverRegistry() {
-		this(new Object2ObjectOpenHashMap<>()); // sync map should be fine as there is little read write competitions
+		this(new Object2ObjectOpenHashMap<>());
 	}
 
 	public GlobalReceiverRegistry(Map<Identifier, H> map) {
-		this.receivers = map;
+		this.receivers = new Object2ObjectOpenHashMap<>(map);
 	}
 
 	@Nullable
 	public H getReceiver(Identifier channelName) {
-		Lock lock = this.lock.readLock();
-		lock.lock();
-
-		try {
-			return this.receivers.get(channelName);
-		} finally {
-			lock.unlock();
-		}
+		return this.receivers.get(channelName);
 	}
 
 	public boolean registerGlobalReceiver(Identifier channelName, H handler) {
@@ -64,19 +65,21 @@ public final class GlobalReceiverRegistry<H> {
 			throw new IllegalArgumentException(String.format("Cannot register handler for reserved channel with name \"%s\"", channelName));
 		}
 
-		Lock lock = this.lock.writeLock();
-		lock.lock();
+		this.lock.lock();
 
 		try {
-			final boolean replaced = this.receivers.putIfAbsent(channelName, handler) == null;
-
-			if (!replaced) {
-				this.handleRegistration(channelName, handler);
+			if (this.receivers.containsKey(channelName)) {
+				return false;
 			}
 
-			return replaced;
+			var receivers = new Object2ObjectOpenHashMap<>(this.receivers);
+			receivers.put(channelName, handler);
+			this.receivers = receivers;
+			this.handleRegistration(channelName, handler);
+
+			return true;
 		} finally {
-			lock.unlock();
+			this.lock.unlock();
 		}
 	}
 
@@ -87,91 +90,103 @@ public final class GlobalReceiverRegistry<H> {
 			throw new IllegalArgumentException(String.format("Cannot unregister packet handler for reserved channel with name \"%s\"", channelName));
 		}
 
-		Lock lock = this.lock.writeLock();
-		lock.lock();
+		this.lock.lock();
 
 		try {
-			final H removed = this.receivers.remove(channelName);
-
-			if (removed != null) {
-				this.handleUnregistration(channelName);
+			if (!this.receivers.containsKey(channelName)) {
+				return null;
 			}
 
+			var receivers = new Object2ObjectOpenHashMap<>(this.receivers);
+			final H removed = receivers.remove(channelName);
+			this.receivers = receivers;
+			this.handleUnregistration(channelName);
+
 			return removed;
 		} finally {
-			lock.unlock();
+			this.lock.unlock();
 		}
 	}
 
+	/**
+	 * {@return an immutable snapshot of the registered receivers}
+	 */
 	public Map<Identifier, H> getReceivers() {
-		Lock lock = this.lock.writeLock();
-		lock.lock();
-
-		try {
-			return new Object2ObjectOpenHashMap<>(this.receivers);
-		} finally {
-			lock.unlock();
-		}
+		return Collections.unmodifiableMap(this.receivers);
 	}
 
 	public Set<Identifier> getChannels() {
-		Lock lock = this.lock.readLock();
-		lock.lock();
+		return new HashSet<>(this.receivers.keySet());
+	}
 
-		try {
-			return new HashSet<>(this.receivers.keySet());
-		} finally {
-			lock.unlock();
+	/**
+	 * Gets the names of the channels of the registered receivers, encoded as the payload of a {@link NetworkingImpl#REGISTER_CHANNEL} packet.
+	 * <p>
+	 * The encoded names are cached until receivers are registered or unregistered, and are shared between all callers.
+	 *
+	 * @param channels the channels the caller wants to encode
+	 * @return the encoded channel names, or {@code null} if the given channels are not exactly the channels of the registered receivers
+	 */
+	@Nullable
+	public byte[] getEncodedChannels(Set<Identifier> channels) {
+		final Map<Identifier, H> receivers = this.receivers;
+
+		if (!receivers.keySet().equals(channels)) {
+			return null;
 		}
+
+		EncodedChannels encoded = this.encodedChannels;
+
+		if (encoded == null || encoded.receivers() != receivers) {
+			final PacketByteBuf buf = PacketByteBufs.create();
+			NetworkingImpl.writeChannelNames(buf, receivers.keySet());
+
+			final byte[] bytes = new byte[buf.readableBytes()];
+			buf.readBytes(bytes);
+
+			encoded = new EncodedChannels(receivers, bytes);
+			this.encodedChannels = encoded;
+		}
+
+		return encoded.bytes();
 	}
 
 	// State tracking methods
 
 	public void startSession(AbstractNetworkAddon<H> addon) {
-		Lock lock = this.lock.writeLock();
-		lock.lock();
+		this.lock.lock();
 
 		try {
 			this.trackedAddons.add(addon);
 		} finally {
-			lock.unlock();
+			this.lock.unlock();
 		}
 	}
 
 	public void endSession(AbstractNetworkAddon<H> addon) {
-		Lock lock = this.lock.writeLock();
-		lock.lock();
+		this.lock.lock();
 
 		try {
 			this.trackedAddons.remove(addon);
 		} finally {
-			lock.unlock();
+			this.lock.unlock();
 		}
 	}
 
+	// Must be called with the lock held
 	private void handleRegistration(Identifier channelName, H handler) {
-		Lock lock = this.lock.writeLock();
-		lock.lock();
-
-		try {
-			for (AbstractNetworkAddon<H> addon : this.trackedAddons) {
-				addon.registerChannel(channelName, handler);
-			}
-		} finally {
-			lock.unlock();
+		for (AbstractNetworkAddon<H> addon : this.trackedAddons) {
+			addon.registerChannel(channelName, handler);
 		}
 	}
 
+	// Must be called with the lock held
 	private void handleUnregistration(Identifier channelName) {
-		Lock lock = this.lock.writeLock();
-		lock.lock();
-
-		try {
-			for (AbstractNetworkAddon<H> addon : this.trackedAddons) {
-				addon.unregisterChannel(channelName);
-			}
-		} finally {
-			lock.unlock();
+		for (AbstractNetworkAddon<H> addon : this.trackedAddons) {
+			addon.unregisterChannel(channelName);
 		}
 	}
+
+	private record EncodedChannels(Map<Identifier, ?> receivers, byte[] bytes) {
+	}
 }
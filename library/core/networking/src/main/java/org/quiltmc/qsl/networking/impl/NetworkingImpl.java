@@ -16,30 +16,43 @@
 
 package org.quiltmc.qsl.networking.impl;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.util.ResourceLeakDetector;
 import org.jetbrains.annotations.ApiStatus;
 import org.quiltmc.loader.api.ModContainer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import net.minecraft.network.ClientConnection;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerLoginNetworkHandler;
 import net.minecraft.util.Identifier;
 
+import org.quiltmc.qsl.lifecycle.api.event.ServerLifecycleEvents;
+import org.quiltmc.qsl.lifecycle.api.event.ServerTickEvents;
 import org.quiltmc.qsl.networking.api.PacketByteBufs;
 import org.quiltmc.qsl.networking.api.PacketSender;
 import org.quiltmc.qsl.networking.api.ServerLoginConnectionEvents;
 import org.quiltmc.qsl.networking.api.ServerLoginNetworking;
 import org.quiltmc.qsl.networking.api.ServerPlayNetworking;
+import org.quiltmc.qsl.networking.impl.server.LoginQueryMetrics;
+import org.quiltmc.qsl.networking.impl.server.ServerNetworkingImpl;
+import org.quiltmc.qsl.networking.mixin.accessor.ClientConnectionAccessor;
 
 @ApiStatus.Internal
 public final class NetworkingImpl {
 	public static final String MOD_ID = "quilt_networking";
 	public static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
+	/**
+	 * Whether netty's advanced leak detection should be enabled, and buffers should record the channels they go through.
+	 */
+	public static final boolean DEBUG_BUFFER_LEAKS = Boolean.getBoolean("quilt.networking.debug_buffer_leaks");
 	/**
 	 * Identifier of packet used to register supported channels.
 	 */
@@ -60,8 +73,36 @@ public final class NetworkingImpl {
 	 * <p>Since our early registration packet does not differ from fabric's, we can support both.
 	 */
 	public static final Identifier EARLY_REGISTRATION_CHANNEL_FABRIC = new Identifier("fabric-networking-api-v1", "early_registration");
+	/**
+	 * Identifier of the packet used to assign compact IDs to the channels the sending side may receive packets on.
+	 * <p>
+	 * This channel is declared alongside the other channels in the initial {@link NetworkingImpl#REGISTER_CHANNEL} packet.
+	 * A side only sends its assignments once the other side declared it, so legacy and vanilla peers keep using channel names.
+	 */
+	public static final Identifier CHANNEL_IDS_CHANNEL = new Identifier(MOD_ID, "channel_ids");
+	/**
+	 * Identifier of the packet used to send a payload to a channel using the ID the receiving side assigned to it.
+	 * <p>
+	 * The name is kept as short as possible as it is written for every such packet.
+	 */
+	public static final Identifier INDEXED_PAYLOAD_CHANNEL = new Identifier("q", "i");
+	/**
+	 * Identifier of the packet used to send multiple payloads at once.
+	 * <p>
+	 * The payload of a bundle is a sequence of entries, each made of a channel key, the length of the entry payload and the entry payload.
+	 * The channel key is either {@code 0} followed by the channel name, or a compact ID assigned by the receiving side plus one.
+	 * <p>
+	 * Like {@link NetworkingImpl#CHANNEL_IDS_CHANNEL}, this channel is declared in the initial {@link NetworkingImpl#REGISTER_CHANNEL} packet
+	 * and bundles are only sent to a side which declared it.
+	 */
+	public static final Identifier BUNDLE_CHANNEL = new Identifier(MOD_ID, "bundle");
 
 	public static void init(ModContainer mod) {
+		if (DEBUG_BUFFER_LEAKS && ResourceLeakDetector.getLevel().ordinal() < ResourceLeakDetector.Level.ADVANCED.ordinal()) {
+			ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.ADVANCED);
+			LOGGER.info("Enabled advanced buffer leak detection");
+		}
+
 		// Login setup
 		ServerLoginConnectionEvents.QUERY_START.register((handler, server, sender, synchronizer) -> {
 			// Send early registration packet
@@ -80,10 +121,54 @@ public final class NetworkingImpl {
 
 		ServerLoginNetworking.registerGlobalReceiver(EARLY_REGISTRATION_CHANNEL, NetworkingImpl::receiveEarlyRegistration);
 		ServerLoginNetworking.registerGlobalReceiver(EARLY_REGISTRATION_CHANNEL_FABRIC, NetworkingImpl::receiveEarlyRegistration);
+		ServerLifecycleEvents.STOPPED.register(server -> LoginQueryMetrics.logSummary());
+
+		// Play setup
+		ServerTickEvents.END.register(ServerNetworkingImpl::flushBundles);
 	}
 
 	public static boolean isReservedPlayChannel(Identifier channelName) {
-		return channelName.equals(REGISTER_CHANNEL) || channelName.equals(UNREGISTER_CHANNEL);
+		return channelName.equals(REGISTER_CHANNEL) || channelName.equals(UNREGISTER_CHANNEL)
+				|| channelName.equals(CHANNEL_IDS_CHANNEL) || channelName.equals(INDEXED_PAYLOAD_CHANNEL)
+				|| channelName.equals(BUNDLE_CHANNEL);
+	}
+
+	/**
+	 * Gets the allocator of the channel of a connection, or the default allocator if the connection has no channel yet.
+	 *
+	 * @param connection the connection
+	 * @return the allocator
+	 */
+	public static ByteBufAllocator getAllocator(ClientConnection connection) {
+		var channel = ((ClientConnectionAccessor) connection).getChannel();
+		return channel != null ? channel.alloc() : ByteBufAllocator.DEFAULT;
+	}
+
+	/**
+	 * Writes channel names to the payload of a {@link NetworkingImpl#REGISTER_CHANNEL} or {@link NetworkingImpl#UNREGISTER_CHANNEL} packet.
+	 *
+	 * @param buf      the payload
+	 * @param channels the channel names
+	 */
+	public static void writeChannelNames(PacketByteBuf buf, Iterable<Identifier> channels) {
+		for (Identifier channel : channels) {
+			writeChannelName(buf, channel);
+		}
+	}
+
+	/**
+	 * Writes a channel name to the payload of a {@link NetworkingImpl#REGISTER_CHANNEL} or {@link NetworkingImpl#UNREGISTER_CHANNEL} packet.
+	 *
+	 * @param buf     the payload
+	 * @param channel the channel name
+	 */
+	public static void writeChannelName(PacketByteBuf buf, Identifier channel) {
+		// Channel names are separated by NUL bytes
+		if (buf.isReadable()) {
+			buf.writeByte(0);
+		}
+
+		buf.writeCharSequence(channel.toString(), StandardCharsets.US_ASCII);
 	}
 
 	private static void receiveEarlyRegistration(MinecraftServer server, ServerLoginNetworkHandler handler, boolean understood, PacketByteBuf buf, ServerLoginNetworking.LoginSynchronizer synchronizer, PacketSender sender) {
@@ -18,6 +18,7 @@ package org.quiltmc.qsl.networking.impl.client;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 
 import org.jetbrains.annotations.ApiStatus;
@@ -36,10 +37,12 @@ import net.minecraft.util.Identifier;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import org.quiltmc.loader.api.ModContainer;
+import org.quiltmc.qsl.lifecycle.api.client.event.ClientTickEvents;
 import org.quiltmc.qsl.networking.api.client.ClientLoginNetworking;
 import org.quiltmc.qsl.networking.api.client.ClientPlayConnectionEvents;
 import org.quiltmc.qsl.networking.api.client.ClientPlayNetworking;
 import org.quiltmc.qsl.networking.api.PacketByteBufs;
+import org.quiltmc.qsl.networking.api.PayloadDecoder;
 import org.quiltmc.qsl.networking.impl.ChannelInfoHolder;
 import org.quiltmc.qsl.networking.impl.GlobalReceiverRegistry;
 import org.quiltmc.qsl.networking.impl.NetworkHandlerExtensions;
@@ -62,6 +65,18 @@ public final class ClientNetworkingImpl {
 		return (ClientLoginNetworkAddon) ((NetworkHandlerExtensions) handler).getAddon();
 	}
 
+	public static <T> ClientPlayNetworking.ChannelReceiver createPayloadChannelReceiver(PayloadDecoder<T> decoder,
+			ClientPlayNetworking.PayloadReceiver<T> payloadReceiver) {
+		Objects.requireNonNull(decoder, "Payload decoder cannot be null");
+		Objects.requireNonNull(payloadReceiver, "Payload receiver cannot be null");
+
+		// The packet byte buf is released by the addon once handled
+		return (client, handler, buf, responseSender) -> {
+			T payload = decoder.decode(buf);
+			client.execute(() -> payloadReceiver.receive(client, handler, payload, responseSender));
+		};
+	}
+
 	public static Packet<?> createPlayC2SPacket(Identifier channelName, PacketByteBuf buf) {
 		return new CustomPayloadC2SPacket(channelName, buf);
 	}
@@ -116,6 +131,13 @@ public final class ClientNetworkingImpl {
 			currentPlayAddon = null;
 		});
 
+		// Send the pending bundle at the end of each client tick
+		ClientTickEvents.END.register(client -> {
+			if (client.getNetworkHandler() != null) {
+				getAddon(client.getNetworkHandler()).flushBundle();
+			}
+		});
+
 		// Register a login query handler for early channel registration.
 		ClientLoginNetworking.registerGlobalReceiver(NetworkingImpl.EARLY_REGISTRATION_CHANNEL, (client, handler, buf, listenerAdder) -> {
 			int n = buf.readVarInt();
@@ -19,6 +19,7 @@ package org.quiltmc.qsl.networking.impl.client;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.network.ClientPlayNetworkHandler;
@@ -41,6 +42,9 @@ import org.quiltmc.qsl.networking.impl.NetworkingImpl;
 @ApiStatus.Internal
 @Environment(EnvType.CLIENT)
 public final class ClientPlayNetworkAddon extends AbstractChanneledNetworkAddon<ClientPlayNetworking.ChannelReceiver> {
+	// The maximum size of a serverbound custom payload
+	private static final int MAX_BUNDLE_SIZE = 32767;
+
 	private final ClientPlayNetworkHandler handler;
 	private final MinecraftClient client;
 	private boolean sentInitialRegisterPacket;
@@ -100,6 +104,24 @@ public final class ClientPlayNetworkAddon extends AbstractChanneledNetworkAddon<
 		handler.receive(this.client, this.handler, buf, this);
 	}
 
+	/**
+	 * Sends a packet as part of the bundle which is flushed at the end of the current client tick.
+	 *
+	 * @param channelName the identifier of the channel
+	 * @param buf the content of the packet
+	 */
+	@Override
+	public void sendBatchedPacket(Identifier channelName, PacketByteBuf buf) {
+		Objects.requireNonNull(channelName, "Channel cannot be null");
+		Objects.requireNonNull(buf, "Payload cannot be null");
+
+		if (this.canSendBundles()) {
+			this.queueBundledPacket(channelName, buf, MAX_BUNDLE_SIZE);
+		} else {
+			this.sendPacket(channelName, buf);
+		}
+	}
+
 	// impl details
 
 	@Override
@@ -108,7 +130,7 @@ public final class ClientPlayNetworkAddon extends AbstractChanneledNetworkAddon<
 	}
 
 	@Override
-	public Packet<?> createPacket(Identifier channelName, PacketByteBuf buf) {
+	protected Packet<?> createChannelPacket(Identifier channelName, PacketByteBuf buf) {
 		return ClientPlayNetworking.createC2SPacket(channelName, buf);
 	}
 
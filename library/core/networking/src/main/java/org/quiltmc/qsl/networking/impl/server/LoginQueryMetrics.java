@@ -0,0 +1,72 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.impl.server;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import org.quiltmc.qsl.networking.impl.NetworkingImpl;
+
+/**
+ * Server-wide statistics about the round-trip time of login queries.
+ * <p>
+ * Every login query which receives a response is recorded here, along with every query which exceeded its deadline,
+ * if the opt-in login query timeout is enabled.
+ * A summary is logged when the server stops, while slow queries are logged as soon as they complete or time out.
+ */
+@ApiStatus.Internal
+public final class LoginQueryMetrics {
+	private static final LongAdder COMPLETED = new LongAdder();
+	private static final LongAdder TIMED_OUT = new LongAdder();
+	private static final LongAdder TOTAL_ROUND_TRIP_NANOS = new LongAdder();
+	private static final LongAccumulator MAX_ROUND_TRIP_NANOS = new LongAccumulator(Math::max, 0);
+
+	private LoginQueryMetrics() {
+	}
+
+	static void recordRoundTrip(long nanos) {
+		COMPLETED.increment();
+		TOTAL_ROUND_TRIP_NANOS.add(nanos);
+		MAX_ROUND_TRIP_NANOS.accumulate(nanos);
+	}
+
+	static void recordTimeout() {
+		TIMED_OUT.increment();
+	}
+
+	/**
+	 * Logs a summary of the login queries recorded since the last summary, if any, and resets the statistics.
+	 */
+	public static void logSummary() {
+		long completed = COMPLETED.sumThenReset();
+		long timedOut = TIMED_OUT.sumThenReset();
+		long totalRoundTrip = TOTAL_ROUND_TRIP_NANOS.sumThenReset();
+		long maxRoundTrip = MAX_ROUND_TRIP_NANOS.getThenReset();
+
+		if (completed == 0 && timedOut == 0) {
+			return;
+		}
+
+		double nanosPerMilli = TimeUnit.MILLISECONDS.toNanos(1);
+		NetworkingImpl.LOGGER.info(String.format("%d login queries completed (avg %.2f ms, max %.2f ms), %d timed out",
+				completed, completed == 0 ? 0.0 : totalRoundTrip / (double) completed / nanosPerMilli,
+				maxRoundTrip / nanosPerMilli, timedOut));
+	}
+}
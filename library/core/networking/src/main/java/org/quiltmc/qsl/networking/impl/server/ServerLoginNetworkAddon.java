@@ -16,17 +16,25 @@
 
 package org.quiltmc.qsl.networking.impl.server;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.netty.util.concurrent.GenericFutureListener;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
@@ -38,6 +46,7 @@ import net.minecraft.network.packet.s2c.login.LoginCompressionS2CPacket;
 import net.minecraft.network.packet.s2c.login.LoginQueryRequestS2CPacket;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerLoginNetworkHandler;
+import net.minecraft.text.TranslatableText;
 import net.minecraft.util.Identifier;
 
 import org.quiltmc.qsl.networking.api.PacketByteBufs;
@@ -45,17 +54,37 @@ import org.quiltmc.qsl.networking.api.PacketSender;
 import org.quiltmc.qsl.networking.api.ServerLoginConnectionEvents;
 import org.quiltmc.qsl.networking.api.ServerLoginNetworking;
 import org.quiltmc.qsl.networking.impl.AbstractNetworkAddon;
+import org.quiltmc.qsl.networking.mixin.accessor.ClientConnectionAccessor;
 import org.quiltmc.qsl.networking.mixin.accessor.LoginQueryResponseC2SPacketAccessor;
 import org.quiltmc.qsl.networking.mixin.accessor.ServerLoginNetworkHandlerAccessor;
 
 @ApiStatus.Internal
 public final class ServerLoginNetworkAddon extends AbstractNetworkAddon<ServerLoginNetworking.QueryResponseReceiver> implements PacketSender {
+	/**
+	 * How long a client has to answer a login query before being disconnected, in milliseconds.
+	 * The timeout is opt-in, a value of {@code 0} or less disables it.
+	 */
+	private static final long QUERY_TIMEOUT_MILLIS = Long.getLong("quilt.networking.login_query_timeout", 0L);
+	/**
+	 * How long a login query may take to be answered before its response is logged as slow, in milliseconds.
+	 */
+	private static final long SLOW_QUERY_MILLIS = Long.getLong("quilt.networking.slow_login_query_threshold", 5000L);
+	/**
+	 * How many login queries may await a response at once per connection, any further query is queued until a response arrives.
+	 */
+	private static final int MAX_QUERIES_IN_FLIGHT = Math.max(1, Integer.getInteger("quilt.networking.max_login_queries_in_flight", 64));
+
 	private final ClientConnection connection;
 	private final ServerLoginNetworkHandler handler;
 	private final MinecraftServer server;
 	private final QueryIdFactory queryIdFactory;
-	private final Collection<Future<?>> waits = new ConcurrentLinkedQueue<>();
-	private final Map<Integer, Identifier> channels = new ConcurrentHashMap<>();
+	// Completable futures notify us on completion, only other futures need to be polled
+	private final AtomicInteger pendingWaits = new AtomicInteger();
+	private final Collection<Future<?>> polledWaits = new ConcurrentLinkedQueue<>();
+	private final Map<Integer, PendingQuery> channels = new ConcurrentHashMap<>();
+	// Both guarded by queuedQueries
+	private final Queue<QueuedQuery> queuedQueries = new ArrayDeque<>();
+	private final IntSet queriesInFlight = new IntOpenHashSet();
 	private boolean firstQueryTick = true;
 
 	public ServerLoginNetworkAddon(ServerLoginNetworkHandler handler) {
@@ -80,36 +109,54 @@ public final class ServerLoginNetworkAddon extends AbstractNetworkAddon<ServerLo
 				ServerLoginNetworking.registerReceiver(this.handler, entry.getKey(), entry.getValue());
 			}
 
-			ServerLoginConnectionEvents.QUERY_START.invoker().onLoginStart(this.handler, this.server, this, this.waits::add);
+			ServerLoginConnectionEvents.QUERY_START.invoker().onLoginStart(this.handler, this.server, this, this::waitFor);
 			this.firstQueryTick = false;
 		}
 
-		var error = new AtomicReference<Throwable>();
-		this.waits.removeIf(future -> {
-			if (!future.isDone()) {
-				return false;
-			}
+		if (!this.polledWaits.isEmpty()) {
+			this.polledWaits.removeIf(future -> {
+				if (!future.isDone()) {
+					return false;
+				}
+
+				try {
+					future.get();
+				} catch (ExecutionException ex) {
+					this.logWaitError(ex.getCause());
+				} catch (InterruptedException | CancellationException ignored) {
+					// ignore
+				}
+
+				return true;
+			});
+		}
 
-			try {
-				future.get();
-			} catch (ExecutionException ex) {
-				Throwable caught = ex.getCause();
-				error.getAndUpdate(oldEx -> {
-					if (oldEx == null) {
-						return caught;
-					}
-
-					oldEx.addSuppressed(caught);
-					return oldEx;
-				});
-			} catch (InterruptedException | CancellationException ignored) {
-				// ignore
-			}
+		return this.pendingWaits.get() == 0 && this.polledWaits.isEmpty() && !this.hasPendingQueries();
+	}
 
-			return true;
-		});
+	private void waitFor(Future<?> future) {
+		if (future instanceof CompletableFuture<?> completableFuture) {
+			this.pendingWaits.incrementAndGet();
+			completableFuture.whenComplete((result, ex) -> {
+				if (ex != null && !(ex instanceof CancellationException)) {
+					this.logWaitError(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+				}
+
+				this.pendingWaits.decrementAndGet();
+			});
+		} else {
+			this.polledWaits.add(future);
+		}
+	}
+
+	private void logWaitError(Throwable ex) {
+		this.logger.error("Encountered exception in a login synchronizer future for {}", this.handler.getConnectionInfo(), ex);
+	}
 
-		return this.channels.isEmpty() && this.waits.isEmpty();
+	private boolean hasPendingQueries() {
+		synchronized (this.queuedQueries) {
+			return !this.queriesInFlight.isEmpty() || !this.queuedQueries.isEmpty();
+		}
 	}
 
 	private void sendCompressionPacket() {
@@ -133,14 +180,32 @@ public final class ServerLoginNetworkAddon extends AbstractNetworkAddon<ServerLo
 	}
 
 	private boolean handle(int queryId, @Nullable PacketByteBuf originalBuf) {
-		this.logger.debug("Handling inbound login query with id {}", queryId);
-		Identifier channel = this.channels.remove(queryId);
+		PendingQuery query = this.channels.remove(queryId);
 
-		if (channel == null) {
+		if (query == null) {
 			this.logger.warn("Query ID {} was received but no query has been associated in {}!", queryId, this.connection);
 			return false;
 		}
 
+		if (query.timeout() != null) {
+			query.timeout().cancel(false);
+		}
+
+		long roundTrip = System.nanoTime() - query.sentAt();
+		long roundTripMillis = TimeUnit.NANOSECONDS.toMillis(roundTrip);
+		LoginQueryMetrics.recordRoundTrip(roundTrip);
+
+		if (roundTripMillis >= SLOW_QUERY_MILLIS) {
+			this.logger.warn("Login query {} in channel \"{}\" was answered after {} ms by {}",
+					queryId, query.channel(), roundTripMillis, this.handler.getConnectionInfo());
+		} else {
+			this.logger.debug("Handling inbound login query with id {}, answered after {} ms", queryId, roundTripMillis);
+		}
+
+		this.completeQuery(queryId);
+
+		Identifier channel = query.channel();
+
 		boolean understood = originalBuf != null;
 		@Nullable ServerLoginNetworking.QueryResponseReceiver handler = ServerNetworkingImpl.LOGIN.getReceiver(channel);
 
@@ -151,7 +216,7 @@ public final class ServerLoginNetworkAddon extends AbstractNetworkAddon<ServerLo
 		PacketByteBuf buf = understood ? PacketByteBufs.slice(originalBuf) : PacketByteBufs.empty();
 
 		try {
-			handler.receive(this.server, this.handler, understood, buf, this.waits::add, this);
+			handler.receive(this.server, this.handler, understood, buf, this::waitFor, this);
 		} catch (Throwable ex) {
 			this.logger.error("Encountered exception while handling in channel \"{}\"", channel, ex);
 			throw ex;
@@ -169,20 +234,89 @@ public final class ServerLoginNetworkAddon extends AbstractNetworkAddon<ServerLo
 
 	@Override
 	public void sendPacket(Packet<?> packet) {
-		Objects.requireNonNull(packet, "Packet cannot be null");
-
-		this.connection.send(packet);
+		this.sendPacket(packet, null);
 	}
 
 	@Override
-	public void sendPacket(Packet<?> packet, GenericFutureListener<? extends io.netty.util.concurrent.Future<? super Void>> callback) {
+	public void sendPacket(Packet<?> packet, @Nullable GenericFutureListener<? extends io.netty.util.concurrent.Future<? super Void>> callback) {
 		Objects.requireNonNull(packet, "Packet cannot be null");
 
+		if (packet instanceof LoginQueryRequestS2CPacket request) {
+			synchronized (this.queuedQueries) {
+				if (this.queriesInFlight.size() >= MAX_QUERIES_IN_FLIGHT) {
+					this.queuedQueries.add(new QueuedQuery(request, callback));
+					return;
+				}
+
+				this.queriesInFlight.add(request.getQueryId());
+			}
+		}
+
 		this.connection.send(packet, callback);
 	}
 
+	/**
+	 * Frees the in-flight slot of the given query, and hands it over to the next queued query if there is one.
+	 */
+	private void completeQuery(int queryId) {
+		QueuedQuery next;
+
+		synchronized (this.queuedQueries) {
+			if (!this.queriesInFlight.remove(queryId)) {
+				// This query was not sent through this addon
+				return;
+			}
+
+			next = this.queuedQueries.poll();
+
+			if (next == null) {
+				return;
+			}
+
+			this.queriesInFlight.add(next.packet().getQueryId());
+		}
+
+		this.connection.send(next.packet(), next.callback());
+	}
+
 	public void registerOutgoingPacket(LoginQueryRequestS2CPacket packet) {
-		this.channels.put(packet.getQueryId(), packet.getChannel());
+		int queryId = packet.getQueryId();
+		ScheduledFuture<?> timeout = null;
+
+		if (QUERY_TIMEOUT_MILLIS > 0) {
+			timeout = ((ClientConnectionAccessor) this.connection).getChannel().eventLoop()
+					.schedule(() -> this.onQueryTimeout(queryId), QUERY_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+		}
+
+		this.channels.put(queryId, new PendingQuery(packet.getChannel(), System.nanoTime(), timeout));
+	}
+
+	private void onQueryTimeout(int queryId) {
+		PendingQuery query = this.channels.remove(queryId);
+
+		if (query == null) {
+			return;
+		}
+
+		LoginQueryMetrics.recordTimeout();
+		this.logger.warn("Login query {} in channel \"{}\" was not answered within {} ms by {}, disconnecting",
+				queryId, query.channel(), QUERY_TIMEOUT_MILLIS, this.handler.getConnectionInfo());
+		this.server.execute(() -> this.handler.disconnect(new TranslatableText("multiplayer.disconnect.slow_login")));
+	}
+
+	private void cancelPendingQueries() {
+		for (PendingQuery query : this.channels.values()) {
+			if (query.timeout() != null) {
+				query.timeout().cancel(false);
+			}
+		}
+
+		this.channels.clear();
+
+		synchronized (this.queuedQueries) {
+			this.queuedQueries.clear();
+			this.queriesInFlight.clear();
+		}
 	}
 
 	@Override
@@ -195,11 +329,13 @@ public final class ServerLoginNetworkAddon extends AbstractNetworkAddon<ServerLo
 
 	@Override
 	protected void invokeDisconnectEvent() {
+		this.cancelPendingQueries();
 		ServerLoginConnectionEvents.DISCONNECT.invoker().onLoginDisconnect(this.handler, this.server);
 		this.receiver.endSession(this);
 	}
 
 	public void handlePlayTransition() {
+		this.cancelPendingQueries();
 		this.receiver.endSession(this);
 	}
 
@@ -207,4 +343,11 @@ public final class ServerLoginNetworkAddon extends AbstractNetworkAddon<ServerLo
 	protected boolean isReservedChannel(Identifier channelName) {
 		return false;
 	}
+
+	private record PendingQuery(Identifier channel, long sentAt, @Nullable ScheduledFuture<?> timeout) {
+	}
+
+	private record QueuedQuery(LoginQueryRequestS2CPacket packet,
+			@Nullable GenericFutureListener<? extends io.netty.util.concurrent.Future<? super Void>> callback) {
+	}
 }
@@ -16,19 +16,33 @@
 
 package org.quiltmc.qsl.networking.impl.server;
 
+import java.util.Collection;
+import java.util.Objects;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
+import net.minecraft.network.ClientConnection;
+import net.minecraft.network.NetworkSide;
+import net.minecraft.network.NetworkState;
 import net.minecraft.network.Packet;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.network.packet.s2c.play.CustomPayloadS2CPacket;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerLoginNetworkHandler;
 import net.minecraft.server.network.ServerPlayNetworkHandler;
+import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.Identifier;
 
+import org.quiltmc.qsl.networking.api.PayloadDecoder;
 import org.quiltmc.qsl.networking.api.ServerLoginNetworking;
 import org.quiltmc.qsl.networking.api.ServerPlayNetworking;
 import org.quiltmc.qsl.networking.impl.GlobalReceiverRegistry;
 import org.quiltmc.qsl.networking.impl.NetworkHandlerExtensions;
+import org.quiltmc.qsl.networking.mixin.accessor.ClientConnectionAccessor;
 
 @ApiStatus.Internal
 public final class ServerNetworkingImpl {
@@ -43,7 +57,119 @@ public final class ServerNetworkingImpl {
 		return (ServerLoginNetworkAddon) ((NetworkHandlerExtensions) handler).getAddon();
 	}
 
+	public static <T> ServerPlayNetworking.ChannelReceiver createPayloadChannelReceiver(PayloadDecoder<T> decoder,
+			ServerPlayNetworking.PayloadReceiver<T> payloadReceiver) {
+		Objects.requireNonNull(decoder, "Payload decoder cannot be null");
+		Objects.requireNonNull(payloadReceiver, "Payload receiver cannot be null");
+
+		// The packet byte buf is released by the addon once handled
+		return (server, player, handler, buf, responseSender) -> {
+			T payload = decoder.decode(buf);
+			server.execute(() -> payloadReceiver.receive(server, player, handler, payload, responseSender));
+		};
+	}
+
 	public static Packet<?> createPlayC2SPacket(Identifier channel, PacketByteBuf buf) {
 		return new CustomPayloadS2CPacket(channel, buf);
 	}
+
+	/**
+	 * Sends a custom payload to multiple players while encoding it only once.
+	 * <p>
+	 * The packet is serialized into a single reference-counted frame.
+	 * Each remote connection then writes a retained duplicate of that frame past its packet encoder.
+	 * The frame is freed once every connection has written its duplicate.
+	 * <p>
+	 * Connections which cannot accept a pre-encoded frame (local connections, connections which are not open yet)
+	 * are sent the packet the usual way.
+	 *
+	 * @param players       the players to send the packet to
+	 * @param channel       the channel of the packet
+	 * @param buf           the payload of the packet, it is not consumed
+	 * @param checkSendable {@code true} if players which did not declare the ability to receive the channel should be skipped
+	 */
+	public static void broadcast(Collection<ServerPlayerEntity> players, Identifier channel, PacketByteBuf buf, boolean checkSendable) {
+		Packet<?> packet = createPlayC2SPacket(channel, buf);
+		ByteBuf frame = null;
+
+		try {
+			for (ServerPlayerEntity player : players) {
+				ServerPlayNetworkHandler handler = player.networkHandler;
+
+				if (handler == null || (checkSendable && !getAddon(handler).getSendableChannels().contains(channel))) {
+					continue;
+				}
+
+				ChannelHandlerContext encoder = getEncoderContext(handler.getConnection());
+
+				if (encoder == null) {
+					handler.sendPacket(packet);
+					continue;
+				}
+
+				if (frame == null) {
+					frame = encodeFrame(packet);
+				}
+
+				// The encoders after this point release what they are given, so each connection gets its own reference.
+				encoder.writeAndFlush(frame.retainedDuplicate());
+			}
+		} finally {
+			if (frame != null) {
+				frame.release();
+			}
+		}
+	}
+
+	/**
+	 * Sends the pending bundles of all players, called at the end of each server tick.
+	 *
+	 * @param server the server
+	 */
+	public static void flushBundles(MinecraftServer server) {
+		if (server.getPlayerManager() == null) {
+			return;
+		}
+
+		for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+			if (player.networkHandler != null) {
+				getAddon(player.networkHandler).flushBundle();
+			}
+		}
+	}
+
+	@Nullable
+	private static ChannelHandlerContext getEncoderContext(ClientConnection connection) {
+		if (connection.isLocal() || !connection.isOpen()) {
+			return null;
+		}
+
+		var channel = ((ClientConnectionAccessor) connection).getChannel();
+
+		if (channel == null || channel.attr(ClientConnection.PROTOCOL_ATTRIBUTE_KEY).get() != NetworkState.PLAY) {
+			return null;
+		}
+
+		return channel.pipeline().context("encoder");
+	}
+
+	private static ByteBuf encodeFrame(Packet<?> packet) {
+		Integer packetId = NetworkState.PLAY.getPacketId(NetworkSide.CLIENTBOUND, packet);
+
+		if (packetId == null) {
+			throw new IllegalStateException("Cannot encode unregistered packet " + packet.getClass().getName());
+		}
+
+		var frame = new PacketByteBuf(ByteBufAllocator.DEFAULT.ioBuffer());
+
+		try {
+			frame.writeVarInt(packetId);
+			packet.write(frame);
+		} catch (Throwable t) {
+			frame.release();
+			throw t;
+		}
+
+		return frame;
+	}
 }
@@ -19,6 +19,7 @@ package org.quiltmc.qsl.networking.impl.server;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import org.jetbrains.annotations.ApiStatus;
 
@@ -39,6 +40,8 @@ import org.quiltmc.qsl.networking.mixin.accessor.CustomPayloadC2SPacketAccessor;
 
 @ApiStatus.Internal
 public final class ServerPlayNetworkAddon extends AbstractChanneledNetworkAddon<ServerPlayNetworking.ChannelReceiver> {
+	// The maximum size of a clientbound custom payload
+	private static final int MAX_BUNDLE_SIZE = 1048576;
 	private final ServerPlayNetworkHandler handler;
 	private final MinecraftServer server;
 	private boolean sentInitialRegisterPacket;
@@ -84,7 +87,13 @@ public final class ServerPlayNetworkAddon extends AbstractChanneledNetworkAddon<
 		}
 
 		CustomPayloadC2SPacketAccessor access = (CustomPayloadC2SPacketAccessor) packet;
-		return this.handle(access.getChannel(), access.getData());
+		PacketByteBuf buf = access.getData();
+
+		try {
+			return this.handle(access.getChannel(), buf);
+		} finally {
+			buf.release();
+		}
 	}
 
 	@Override
@@ -92,6 +101,24 @@ public final class ServerPlayNetworkAddon extends AbstractChanneledNetworkAddon<
 		handler.receive(this.server, this.handler.player, this.handler, buf, this);
 	}
 
+	/**
+	 * Sends a packet as part of the bundle which is flushed at the end of the current server tick.
+	 *
+	 * @param channelName the identifier of the channel
+	 * @param buf the content of the packet
+	 */
+	@Override
+	public void sendBatchedPacket(Identifier channelName, PacketByteBuf buf) {
+		Objects.requireNonNull(channelName, "Channel cannot be null");
+		Objects.requireNonNull(buf, "Payload cannot be null");
+
+		if (this.canSendBundles()) {
+			this.queueBundledPacket(channelName, buf, MAX_BUNDLE_SIZE);
+		} else {
+			this.sendPacket(channelName, buf);
+		}
+	}
+
 	// impl details
 
 	@Override
@@ -100,7 +127,7 @@ public final class ServerPlayNetworkAddon extends AbstractChanneledNetworkAddon<
 	}
 
 	@Override
-	public Packet<?> createPacket(Identifier channelName, PacketByteBuf buf) {
+	protected Packet<?> createChannelPacket(Identifier channelName, PacketByteBuf buf) {
 		return ServerPlayNetworking.createS2CPacket(channelName, buf);
 	}
 
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.impl.server;
+
+import java.util.AbstractCollection;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.EntityTrackingListener;
+
+/**
+ * An unmodifiable view of the players of a set of entity tracking listeners, which does not copy the listeners.
+ */
+@ApiStatus.Internal
+public final class TrackingPlayersView extends AbstractCollection<ServerPlayerEntity> {
+	private final Set<EntityTrackingListener> listeners;
+
+	public TrackingPlayersView(Set<EntityTrackingListener> listeners) {
+		this.listeners = listeners;
+	}
+
+	@Override
+	public Iterator<ServerPlayerEntity> iterator() {
+		final Iterator<EntityTrackingListener> iterator = this.listeners.iterator();
+
+		return new Iterator<>() {
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public ServerPlayerEntity next() {
+				return iterator.next().getPlayer();
+			}
+		};
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		// The listeners are the players' network handlers
+		return o instanceof ServerPlayerEntity player && this.listeners.contains(player.networkHandler);
+	}
+
+	@Override
+	public int size() {
+		return this.listeners.size();
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.test.bundle;
+
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.text.LiteralText;
+
+import org.quiltmc.loader.api.ModContainer;
+import org.quiltmc.qsl.base.api.entrypoint.client.ClientModInitializer;
+import org.quiltmc.qsl.networking.api.client.ClientPlayNetworking;
+import org.quiltmc.qsl.networking.test.NetworkingTestMods;
+
+public final class NetworkingBundleClientTest implements ClientModInitializer {
+	@Override
+	public void onInitializeClient(ModContainer mod) {
+		ClientPlayNetworking.registerGlobalReceiver(NetworkingBundleTest.NUMBER_CHANNEL, PacketByteBuf::readVarInt,
+				(client, handler, number, responseSender) -> {
+					NetworkingTestMods.LOGGER.info("Client received bundled number {}", number);
+					client.inGameHud.getChatHud().addMessage(new LiteralText("Client received bundled number " + number));
+				});
+		ClientPlayNetworking.registerGlobalReceiver(NetworkingBundleTest.STRING_CHANNEL, PacketByteBuf::readString,
+				(client, handler, string, responseSender) -> {
+					NetworkingTestMods.LOGGER.info("Client received bundled string {}", string);
+					client.inGameHud.getChatHud().addMessage(new LiteralText("Client received bundled string " + string));
+
+					// Answer with a bundle of typed payloads, sent at the end of this client tick
+					ClientPlayNetworking.sendBatched(NetworkingBundleTest.NUMBER_CHANNEL, NetworkingBundleTest.createNumber(4));
+					ClientPlayNetworking.sendBatched(NetworkingBundleTest.STRING_CHANNEL, NetworkingBundleTest.createString("five"));
+					ClientPlayNetworking.sendBatched(NetworkingBundleTest.NUMBER_CHANNEL, NetworkingBundleTest.createNumber(6));
+				});
+		ClientPlayNetworking.registerGlobalReceiver(NetworkingBundleTest.UNTYPED_CHANNEL, (client, handler, buf, responseSender) -> {
+			String string = buf.readString();
+			NetworkingTestMods.LOGGER.info("Client received bundled untyped {}", string);
+
+			client.execute(() -> {
+				client.inGameHud.getChatHud().addMessage(new LiteralText("Client received bundled untyped " + string));
+
+				if (string.equals("third")) {
+					// Answer with a mixed bundle, sent at the end of this client tick
+					ClientPlayNetworking.sendBatched(NetworkingBundleTest.NUMBER_CHANNEL, NetworkingBundleTest.createNumber(5));
+					ClientPlayNetworking.sendBatched(NetworkingBundleTest.UNKNOWN_CHANNEL, NetworkingBundleTest.createString("skipped"));
+					ClientPlayNetworking.sendBatched(NetworkingBundleTest.UNTYPED_CHANNEL, NetworkingBundleTest.createString("sixth"));
+					ClientPlayNetworking.sendBatched(NetworkingBundleTest.STRING_CHANNEL, NetworkingBundleTest.createString("seventh"));
+				}
+			});
+		});
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.test.bundle;
+
+import static net.minecraft.server.command.CommandManager.literal;
+
+import com.mojang.brigadier.Command;
+
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.LiteralText;
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.loader.api.ModContainer;
+import org.quiltmc.qsl.base.api.entrypoint.ModInitializer;
+import org.quiltmc.qsl.command.api.CommandRegistrationCallback;
+import org.quiltmc.qsl.networking.api.PacketByteBufs;
+import org.quiltmc.qsl.networking.api.ServerPlayNetworking;
+import org.quiltmc.qsl.networking.test.NetworkingTestMods;
+
+// Sends several payloads in a single bundle to the client, which answers with a bundle of its own.
+// Every entry of a bundle shares the buffer of the bundle, so a receiver releasing its entry would break the entries after it.
+// The mixed bundle interleaves typed and untyped receivers, and an entry on a channel the receiving side does not know.
+public final class NetworkingBundleTest implements ModInitializer {
+	public static final Identifier NUMBER_CHANNEL = NetworkingTestMods.id("bundle_number");
+	public static final Identifier STRING_CHANNEL = NetworkingTestMods.id("bundle_string");
+	public static final Identifier UNTYPED_CHANNEL = NetworkingTestMods.id("bundle_untyped");
+	public static final Identifier UNKNOWN_CHANNEL = NetworkingTestMods.id("bundle_unknown");
+
+	public static void sendBundle(ServerPlayerEntity player) {
+		ServerPlayNetworking.sendBatched(player, NUMBER_CHANNEL, createNumber(1));
+		ServerPlayNetworking.sendBatched(player, STRING_CHANNEL, createString("two"));
+		ServerPlayNetworking.sendBatched(player, NUMBER_CHANNEL, createNumber(3));
+		NetworkingTestMods.LOGGER.info("Queued a bundle of 3 typed payloads for {}", player.getEntityName());
+	}
+
+	public static void sendMixedBundle(ServerPlayerEntity player) {
+		ServerPlayNetworking.sendBatched(player, UNTYPED_CHANNEL, createString("first"));
+		ServerPlayNetworking.sendBatched(player, NUMBER_CHANNEL, createNumber(2));
+		ServerPlayNetworking.sendBatched(player, UNKNOWN_CHANNEL, createString("skipped"));
+		ServerPlayNetworking.sendBatched(player, UNTYPED_CHANNEL, createString("third"));
+		ServerPlayNetworking.sendBatched(player, NUMBER_CHANNEL, createNumber(4));
+		NetworkingTestMods.LOGGER.info("Queued a mixed bundle of 5 payloads for {}", player.getEntityName());
+	}
+
+	public static PacketByteBuf createNumber(int number) {
+		PacketByteBuf buf = PacketByteBufs.create();
+		buf.writeVarInt(number);
+		return buf;
+	}
+
+	public static PacketByteBuf createString(String string) {
+		PacketByteBuf buf = PacketByteBufs.create();
+		buf.writeString(string);
+		return buf;
+	}
+
+	@Override
+	public void onInitialize(ModContainer mod) {
+		ServerPlayNetworking.registerGlobalReceiver(NUMBER_CHANNEL, PacketByteBuf::readVarInt,
+				(server, player, handler, number, responseSender) -> {
+					player.sendMessage(new LiteralText("Server received bundled number " + number), false);
+				});
+		ServerPlayNetworking.registerGlobalReceiver(STRING_CHANNEL, PacketByteBuf::readString,
+				(server, player, handler, string, responseSender) -> {
+					player.sendMessage(new LiteralText("Server received bundled string " + string), false);
+				});
+		ServerPlayNetworking.registerGlobalReceiver(UNTYPED_CHANNEL, (server, player, handler, buf, responseSender) -> {
+			String string = buf.readString();
+			server.execute(() -> player.sendMessage(new LiteralText("Server received bundled untyped " + string), false));
+		});
+
+		CommandRegistrationCallback.EVENT.register((dispatcher, integrated, dedicated) -> {
+			dispatcher.register(literal("networktestbundle").executes(ctx -> {
+				sendBundle(ctx.getSource().getPlayer());
+				return Command.SINGLE_SUCCESS;
+			}).then(literal("mixed").executes(ctx -> {
+				sendMixedBundle(ctx.getSource().getPlayer());
+				return Command.SINGLE_SUCCESS;
+			})));
+		});
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.test.compact;
+
+import org.quiltmc.loader.api.ModContainer;
+import org.quiltmc.qsl.base.api.entrypoint.client.ClientModInitializer;
+import org.quiltmc.qsl.networking.api.client.ClientPlayNetworking;
+import org.quiltmc.qsl.networking.test.NetworkingTestMods;
+
+public final class NetworkingCompactIdClientTest implements ClientModInitializer {
+	@Override
+	public void onInitializeClient(ModContainer mod) {
+		ClientPlayNetworking.registerGlobalReceiver(NetworkingCompactIdTest.UNTYPED_CHANNEL, (client, handler, buf, responseSender) -> {
+			int sequence = NetworkingCompactIdTest.read(buf);
+			NetworkingTestMods.LOGGER.info("Client received untyped compact ID packet {}", sequence);
+			responseSender.sendPacket(NetworkingCompactIdTest.UNTYPED_CHANNEL, NetworkingCompactIdTest.create(sequence));
+		});
+		ClientPlayNetworking.registerGlobalReceiver(NetworkingCompactIdTest.TYPED_CHANNEL, NetworkingCompactIdTest::read,
+				(client, handler, sequence, responseSender) -> {
+					NetworkingTestMods.LOGGER.info("Client received typed compact ID packet {}", sequence);
+					responseSender.sendPacket(NetworkingCompactIdTest.TYPED_CHANNEL, NetworkingCompactIdTest.create(sequence));
+				});
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.test.compact;
+
+import static com.mojang.brigadier.arguments.IntegerArgumentType.getInteger;
+import static com.mojang.brigadier.arguments.IntegerArgumentType.integer;
+import static net.minecraft.server.command.CommandManager.argument;
+import static net.minecraft.server.command.CommandManager.literal;
+
+import com.mojang.brigadier.Command;
+
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.LiteralText;
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.loader.api.ModContainer;
+import org.quiltmc.qsl.base.api.entrypoint.ModInitializer;
+import org.quiltmc.qsl.command.api.CommandRegistrationCallback;
+import org.quiltmc.qsl.networking.api.PacketByteBufs;
+import org.quiltmc.qsl.networking.api.ServerPlayNetworking;
+import org.quiltmc.qsl.networking.test.NetworkingTestMods;
+
+// Both sides register global receivers on these channels, so each side assigns them compact IDs
+// and the packets travel on the compact channel in both directions.
+// The client echoes every packet back, and the server checks the echoed sequence number.
+public final class NetworkingCompactIdTest implements ModInitializer {
+	public static final Identifier UNTYPED_CHANNEL = NetworkingTestMods.id("compact_untyped");
+	public static final Identifier TYPED_CHANNEL = NetworkingTestMods.id("compact_typed");
+
+	public static void sendPackets(ServerPlayerEntity player, int count) {
+		for (int i = 0; i < count; i++) {
+			ServerPlayNetworking.send(player, UNTYPED_CHANNEL, create(i));
+			ServerPlayNetworking.send(player, TYPED_CHANNEL, create(i));
+		}
+
+		NetworkingTestMods.LOGGER.info("Sent {} compact ID packets to {}", count * 2, player.getEntityName());
+	}
+
+	public static PacketByteBuf create(int sequence) {
+		PacketByteBuf buf = PacketByteBufs.create();
+		buf.writeVarInt(sequence);
+		buf.writeString("sequence " + sequence);
+		return buf;
+	}
+
+	public static int read(PacketByteBuf buf) {
+		int sequence = buf.readVarInt();
+		String check = buf.readString();
+
+		if (!check.equals("sequence " + sequence) || buf.isReadable()) {
+			throw new IllegalStateException("Corrupted compact ID packet " + sequence + ": " + check);
+		}
+
+		return sequence;
+	}
+
+	@Override
+	public void onInitialize(ModContainer mod) {
+		ServerPlayNetworking.registerGlobalReceiver(UNTYPED_CHANNEL, (server, player, handler, buf, responseSender) -> {
+			int sequence = read(buf);
+			server.execute(() -> player.sendMessage(new LiteralText("Server received untyped echo " + sequence), false));
+		});
+		ServerPlayNetworking.registerGlobalReceiver(TYPED_CHANNEL, NetworkingCompactIdTest::read,
+				(server, player, handler, sequence, responseSender) -> {
+					player.sendMessage(new LiteralText("Server received typed echo " + sequence), false);
+				});
+
+		CommandRegistrationCallback.EVENT.register((dispatcher, integrated, dedicated) -> {
+			dispatcher.register(literal("networktestcompact").then(argument("count", integer(1, 64)).executes(ctx -> {
+				sendPackets(ctx.getSource().getPlayer(), getInteger(ctx, "count"));
+				return Command.SINGLE_SUCCESS;
+			})));
+		});
+	}
+}
@@ -25,6 +25,7 @@ import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.arguments.StringArgumentType;
 
 import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.command.ServerCommandSource;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.text.LiteralText;
@@ -34,6 +35,7 @@ import org.quiltmc.loader.api.ModContainer;
 import org.quiltmc.qsl.base.api.entrypoint.ModInitializer;
 import org.quiltmc.qsl.command.api.CommandRegistrationCallback;
 import org.quiltmc.qsl.networking.api.PacketByteBufs;
+import org.quiltmc.qsl.networking.api.PlayerLookup;
 import org.quiltmc.qsl.networking.api.ServerPlayNetworking;
 import org.quiltmc.qsl.networking.test.NetworkingTestMods;
 
@@ -47,6 +49,13 @@ public final class NetworkingPlayPacketTest implements ModInitializer {
 		NetworkingTestMods.LOGGER.info("Sent custom payload packet in {}", TEST_CHANNEL);
 	}
 
+	public static void broadcastToTestChannel(MinecraftServer server, String stuff) {
+		PacketByteBuf buf = PacketByteBufs.create();
+		buf.writeText(new LiteralText(stuff));
+		ServerPlayNetworking.broadcast(PlayerLookup.all(server), TEST_CHANNEL, buf);
+		NetworkingTestMods.LOGGER.info("Broadcast custom payload packet in {}", TEST_CHANNEL);
+	}
+
 	public static void registerCommand(CommandDispatcher<ServerCommandSource> dispatcher) {
 		NetworkingTestMods.LOGGER.info("Registering test command");
 
@@ -55,6 +64,12 @@ public final class NetworkingPlayPacketTest implements ModInitializer {
 			sendToTestChannel(ctx.getSource().getPlayer(), stuff);
 			return Command.SINGLE_SUCCESS;
 		})));
+
+		dispatcher.register(literal("networktestbroadcast").then(argument("stuff", string()).executes(ctx -> {
+			String stuff = StringArgumentType.getString(ctx, "stuff");
+			broadcastToTestChannel(ctx.getSource().getServer(), stuff);
+			return Command.SINGLE_SUCCESS;
+		})));
 	}
 
 	@Override
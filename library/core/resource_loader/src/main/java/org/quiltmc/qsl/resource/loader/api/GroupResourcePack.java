@@ -18,6 +18,7 @@ package org.quiltmc.qsl.resource.loader.api;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -25,6 +26,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -39,6 +42,9 @@ import net.minecraft.resource.pack.metadata.ResourceMetadataReader;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
 
+import org.quiltmc.qsl.resource.loader.impl.IndexedResourcePack;
+import org.quiltmc.qsl.resource.loader.impl.ResourcePackFileIndex;
+
 /**
  * Represents a group resource pack, which holds multiple resource packs as one.
  * <p>
@@ -53,6 +59,10 @@ public abstract class GroupResourcePack implements ResourcePack {
 	protected final ResourceType type;
 	protected final List<? extends ResourcePack> packs;
 	protected final Map<String, List<ResourcePack>> namespacedPacks = new Object2ObjectOpenHashMap<>();
+	/**
+	 * The lookup tables from resource paths to the packs which contain them, per namespace, built lazily.
+	 */
+	private final Map<String, LookupTable> lookupTables = new ConcurrentHashMap<>();
 
 	public GroupResourcePack(ResourceType type, List<? extends ResourcePack> packs) {
 		this.type = type;
@@ -97,8 +107,89 @@ public abstract class GroupResourcePack implements ResourcePack {
 		});
 	}
 
-	@Override
-	public InputStream open(ResourceType type, Identifier id) throws IOException {
+	/**
+	 * Gets the resource packs stored in this group resource pack which contain the given resource.
+	 * <p>
+	 * The packs are ordered by ascending priority, the last pack being the one whose resource is used by {@link #open(ResourceType, Identifier)}.
+	 *
+	 * @param type the resource type
+	 * @param id   the identifier of the resource
+	 * @return the list of the matching resource packs
+	 */
+	public List<? extends ResourcePack> getPacks(ResourceType type, Identifier id) {
+		var packs = this.namespacedPacks.get(id.getNamespace());
+
+		if (packs == null) {
+			return Collections.emptyList();
+		}
+
+		List<ResourcePack> owners = this.lookup(type, id);
+
+		if (owners != null) {
+			return Collections.unmodifiableList(owners);
+		}
+
+		var result = new ArrayList<ResourcePack>();
+
+		for (var pack : packs) {
+			if (pack.contains(type, id)) {
+				result.add(pack);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Looks up the packs which contain the given resource in the lookup table of its namespace.
+	 *
+	 * @param type the resource type
+	 * @param id   the identifier of the resource
+	 * @return the packs which contain the resource by ascending priority,
+	 * or {@code null} if there is no lookup table and the packs must be probed
+	 */
+	private @Nullable List<ResourcePack> lookup(ResourceType type, Identifier id) {
+		if (type != this.type) {
+			return null;
+		}
+
+		var packs = this.namespacedPacks.get(id.getNamespace());
+
+		if (packs == null) {
+			return null;
+		}
+
+		Map<String, List<ResourcePack>> table = this.lookupTables
+				.computeIfAbsent(id.getNamespace(), namespace -> LookupTable.build(this.type, namespace, packs))
+				.table();
+
+		if (table == null) {
+			return null;
+		}
+
+		return table.getOrDefault(id.getPath(), Collections.emptyList());
+	}
+
+	/**
+	 * Finds the highest-priority pack of this group which contains the given resource.
+	 *
+	 * @param type the resource type
+	 * @param id   the identifier of the resource
+	 * @return the pack containing the resource
+	 * @throws ResourceNotFoundException if no pack of this group contains the resource
+	 */
+	private ResourcePack getOwner(ResourceType type, Identifier id) throws ResourceNotFoundException {
+		List<ResourcePack> owners = this.lookup(type, id);
+
+		if (owners != null) {
+			if (!owners.isEmpty()) {
+				return owners.get(owners.size() - 1);
+			}
+
+			throw new ResourceNotFoundException(null,
+					String.format("%s/%s/%s", type.getDirectory(), id.getNamespace(), id.getPath()));
+		}
+
 		var packs = this.namespacedPacks.get(id.getNamespace());
 
 		if (packs != null) {
@@ -107,7 +198,7 @@ public abstract class GroupResourcePack implements ResourcePack {
 				ResourcePack pack = packs.get(i);
 
 				if (pack.contains(type, id)) {
-					return pack.open(type, id);
+					return pack;
 				}
 			}
 		}
@@ -116,6 +207,16 @@ public abstract class GroupResourcePack implements ResourcePack {
 				String.format("%s/%s/%s", type.getDirectory(), id.getNamespace(), id.getPath()));
 	}
 
+	@Override
+	public InputStream open(ResourceType type, Identifier id) throws IOException {
+		return this.getOwner(type, id).open(type, id);
+	}
+
+	@Override
+	public ByteBuffer readBuffer(ResourceType type, Identifier id) throws IOException {
+		return this.getOwner(type, id).readBuffer(type, id);
+	}
+
 	@Override
 	public Collection<Identifier> findResources(ResourceType type, String namespace, String startingPath, int maxDepth,
 	                                            Predicate<String> pathFilter) {
@@ -138,8 +239,36 @@ public abstract class GroupResourcePack implements ResourcePack {
 		return resources;
 	}
 
+	@Override
+	public void findResources(ResourceType type, String namespace, String startingPath, int maxDepth,
+	                          Predicate<String> pathFilter, BiConsumer<Identifier, ResourceOpener> consumer) {
+		var packs = this.namespacedPacks.get(namespace);
+
+		if (packs == null) {
+			return;
+		}
+
+		var visited = new HashSet<Identifier>();
+
+		// Iterating backwards as higher-priority packs are placed at the end,
+		// so the first pack to visit a resource is the one which would open it.
+		for (int i = packs.size() - 1; i >= 0; i--) {
+			packs.get(i).findResources(type, namespace, startingPath, maxDepth, pathFilter, (id, opener) -> {
+				if (visited.add(id)) {
+					consumer.accept(id, opener);
+				}
+			});
+		}
+	}
+
 	@Override
 	public boolean contains(ResourceType type, Identifier id) {
+		List<ResourcePack> owners = this.lookup(type, id);
+
+		if (owners != null) {
+			return !owners.isEmpty();
+		}
+
 		var packs = this.namespacedPacks.get(id.getNamespace());
 
 		if (packs == null) {
@@ -169,6 +298,7 @@ public abstract class GroupResourcePack implements ResourcePack {
 
 	@Override
 	public void close() {
+		this.lookupTables.clear();
 		this.packs.forEach(ResourcePack::close);
 	}
 
@@ -231,4 +361,28 @@ public abstract class GroupResourcePack implements ResourcePack {
 					.map(ResourcePack::getName).collect(Collectors.joining(", ")) + ")";
 		}
 	}
+
+	/**
+	 * Represents the lookup table of a namespace.
+	 *
+	 * @param table the resource paths mapped to the packs which contain them by ascending priority,
+	 *              or {@code null} if any of the packs cannot list its files
+	 */
+	private record LookupTable(@Nullable Map<String, List<ResourcePack>> table) {
+		private static LookupTable build(ResourceType type, String namespace, List<ResourcePack> packs) {
+			var table = new Object2ObjectOpenHashMap<String, List<ResourcePack>>();
+
+			for (var pack : packs) {
+				ResourcePackFileIndex index = pack instanceof IndexedResourcePack indexed ? indexed.getFileIndex(type) : null;
+
+				if (index == null) {
+					return new LookupTable(null);
+				}
+
+				index.forEach(namespace, path -> table.computeIfAbsent(path, p -> new ArrayList<>(1)).add(pack));
+			}
+
+			return new LookupTable(table);
+		}
+	}
 }
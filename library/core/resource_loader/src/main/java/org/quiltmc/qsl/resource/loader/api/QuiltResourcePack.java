@@ -16,11 +16,24 @@
 
 package org.quiltmc.qsl.resource.loader.api;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import net.minecraft.resource.ResourceType;
 import net.minecraft.resource.pack.ResourcePack;
 import net.minecraft.text.LiteralText;
 import net.minecraft.text.Text;
+import net.minecraft.util.Identifier;
 
 import org.quiltmc.qsl.base.api.util.InjectedInterface;
+import org.quiltmc.qsl.resource.loader.impl.ByteBufferReader;
 
 /**
  * Represents a resource pack with extended metadata, injected into {@link net.minecraft.resource.pack.ResourcePack}.
@@ -46,4 +59,81 @@ public interface QuiltResourcePack {
 	default ResourcePackActivationType getActivationType() {
 		return ResourcePackActivationType.NORMAL;
 	}
+
+	/**
+	 * Visits the resources found in the given directory.
+	 * <p>
+	 * This is a streaming alternative to {@link ResourcePack#findResources(ResourceType, String, String, int, Predicate)}
+	 * which also hands an opener for each found resource to the consumer, so callers can read it straight away
+	 * without going through {@link ResourcePack#contains(ResourceType, Identifier)} and
+	 * {@link ResourcePack#open(ResourceType, Identifier)} again.
+	 *
+	 * @param type         the resource type
+	 * @param namespace    the namespace of the resources
+	 * @param startingPath the directory to search in
+	 * @param maxDepth     the maximum depth of the search
+	 * @param pathFilter   the filter on file names
+	 * @param consumer     the consumer of the found resources and their opener
+	 * @implSpec The default implementation visits the result of
+	 * {@link ResourcePack#findResources(ResourceType, String, String, int, Predicate)},
+	 * and opens each resource with {@link ResourcePack#open(ResourceType, Identifier)}.
+	 */
+	default void findResources(ResourceType type, String namespace, String startingPath, int maxDepth,
+	                           Predicate<String> pathFilter, BiConsumer<Identifier, ResourceOpener> consumer) {
+		var pack = (ResourcePack) this;
+
+		for (var id : pack.findResources(type, namespace, startingPath, maxDepth, pathFilter)) {
+			consumer.accept(id, () -> pack.open(type, id));
+		}
+	}
+
+	/**
+	 * Reads the given resource into a read-only byte buffer.
+	 * <p>
+	 * Unlike {@link ResourcePack#open(ResourceType, Identifier)}, the resource pack may hand out its content
+	 * without copying it through an input stream, for example by memory-mapping the file.
+	 * The returned buffer may not outlive this resource pack.
+	 *
+	 * @param type the resource type
+	 * @param id   the identifier of the resource
+	 * @return the content of the resource
+	 * @throws IOException if the resource could not be read
+	 * @implSpec The default implementation reads the whole {@linkplain ResourcePack#open(ResourceType, Identifier) stream}
+	 * of the resource into a heap buffer.
+	 */
+	default ByteBuffer readBuffer(ResourceType type, Identifier id) throws IOException {
+		try (InputStream stream = ((ResourcePack) this).open(type, id)) {
+			return ByteBuffer.wrap(stream.readAllBytes()).asReadOnlyBuffer();
+		}
+	}
+
+	/**
+	 * Reads and parses the given JSON resource.
+	 * <p>
+	 * The JSON is parsed straight from {@linkplain #readBuffer(ResourceType, Identifier) the buffer of the resource},
+	 * without copying it into an intermediate string.
+	 *
+	 * @param type the resource type
+	 * @param id   the identifier of the resource
+	 * @return the parsed JSON element
+	 * @throws IOException        if the resource could not be read
+	 * @throws JsonParseException if the resource isn't valid JSON
+	 */
+	default JsonElement readJson(ResourceType type, Identifier id) throws IOException {
+		return JsonParser.parseReader(new ByteBufferReader(this.readBuffer(type, id)));
+	}
+
+	/**
+	 * Represents an opener of a resource found in a resource pack.
+	 */
+	@FunctionalInterface
+	interface ResourceOpener {
+		/**
+		 * Opens the resource.
+		 *
+		 * @return the input stream of the resource
+		 * @throws IOException if the resource could not be opened
+		 */
+		InputStream open() throws IOException;
+	}
 }
@@ -17,6 +17,7 @@
 package org.quiltmc.qsl.resource.loader.api;
 
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.resource.ResourceType;
 import net.minecraft.resource.pack.ResourcePackProvider;
@@ -26,6 +27,7 @@ import net.minecraft.util.Identifier;
 import org.quiltmc.loader.api.ModContainer;
 import org.quiltmc.loader.api.QuiltLoader;
 import org.quiltmc.qsl.resource.loader.api.reloader.IdentifiableResourceReloader;
+import org.quiltmc.qsl.resource.loader.api.reloader.ResourceReloadProfile;
 import org.quiltmc.qsl.resource.loader.impl.ResourceLoaderImpl;
 
 /**
@@ -61,6 +63,18 @@ public interface ResourceLoader {
 	 */
 	void registerResourcePackProfileProvider(ResourcePackProvider provider);
 
+	/**
+	 * Gets the profile of the last completed reload of this resource type.
+	 * <p>
+	 * The profile is available by the time {@link ResourceLoaderEvents#END_DATA_PACK_RELOAD} or
+	 * {@link org.quiltmc.qsl.resource.loader.api.client.ClientResourceLoaderEvents#END_RESOURCE_PACK_RELOAD} is invoked.
+	 * <p>
+	 * Reloads are only profiled if the {@code quilt.resource_loader.profile_reloads} system property is set to {@code true}.
+	 *
+	 * @return the profile of the last reload, or {@code null} if no reload has been profiled yet
+	 */
+	@Nullable ResourceReloadProfile getLastReloadProfile();
+
 	/**
 	 * Registers a built-in resource pack.
 	 * <p>
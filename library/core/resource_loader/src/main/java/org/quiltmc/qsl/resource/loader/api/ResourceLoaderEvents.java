@@ -49,6 +49,8 @@ public final class ResourceLoaderEvents {
 	 * An event indicating the end of the reloading of data packs on a Minecraft server.
 	 * <p>
 	 * This event should not be used to load resources, use {@link ResourceLoader#registerReloader(IdentifiableResourceReloader)} instead.
+	 * <p>
+	 * The timings of each resource reloader of the reload are available through {@link ResourceLoader#getLastReloadProfile()} if profiling is enabled.
 	 */
 	public static final Event<EndDataPackReload> END_DATA_PACK_RELOAD = Event.create(EndDataPackReload.class,
 			callbacks -> (server, resourceManager, error) -> {
@@ -53,6 +53,8 @@ public final class ClientResourceLoaderEvents {
 	 * An event indicating the end of the reloading of resource packs on the Minecraft client.
 	 * <p>
 	 * This event should not be used to load resources, use {@link ResourceLoader#registerReloader(IdentifiableResourceReloader)} instead.
+	 * <p>
+	 * The timings of each resource reloader of the reload are available through {@link ResourceLoader#getLastReloadProfile()} if profiling is enabled.
 	 */
 	public static final Event<EndResourcePackReload> END_RESOURCE_PACK_RELOAD = Event.create(EndResourcePackReload.class,
 			callbacks -> (client, resourceManager, first, error) -> {
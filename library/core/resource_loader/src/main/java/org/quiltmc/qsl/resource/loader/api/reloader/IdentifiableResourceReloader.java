@@ -42,6 +42,8 @@ public interface IdentifiableResourceReloader extends ResourceReloader {
 	 * executed before itself.
 	 * <p>
 	 * Please keep in mind that this only takes effect during the application stage!
+	 * Modded resource reloaders are scheduled along their dependencies, so the application stage may start
+	 * as soon as the Vanilla resource reloaders and the declared dependencies have applied.
 	 *
 	 * @return the identifiers this resource reloader depends on
 	 * @see ResourceReloaderKeys
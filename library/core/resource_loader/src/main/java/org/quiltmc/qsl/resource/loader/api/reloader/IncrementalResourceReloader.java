@@ -0,0 +1,89 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.resource.loader.api.reloader;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.ResourceReloader;
+import net.minecraft.util.profiler.Profiler;
+
+import org.quiltmc.qsl.resource.loader.impl.IncrementalReloadTracker;
+
+/**
+ * A {@link SimpleResourceReloader} which can reload only the resources which changed since its last reload.
+ * <p>
+ * Before each reload, the content of every resource in the {@linkplain #getResourceDirectories() watched directories}
+ * is hashed and compared to the hashes of the last successful reload. The resulting {@link ResourceChanges} are given to
+ * {@link #load(ResourceChanges, ResourceManager, Profiler, Executor)}, and the reloader is skipped entirely if nothing changed.
+ * <p>
+ * Changes are only computed for data pack reloads of a running server, any other reload is a
+ * {@linkplain ResourceChanges#isFullReload() full reload}.
+ * <p>
+ * Only the watched directories are compared, the state of other resource reloaders is not.
+ * A resource reloader whose result depends on data loaded by another resource reloader, such as tags,
+ * must also watch the directories that data is loaded from (for example {@code "tags/items"}),
+ * or it will keep its previous result when only that data changed.
+ *
+ * @param <T> the type for the intermediate reloading state
+ */
+public interface IncrementalResourceReloader<T> extends SimpleResourceReloader<T> {
+	@Override
+	default CompletableFuture<Void> reload(ResourceReloader.Synchronizer helper, ResourceManager manager,
+	                                       Profiler loadProfiler, Profiler applyProfiler,
+	                                       Executor loadExecutor, Executor applyExecutor) {
+		var changes = IncrementalReloadTracker.computeChanges(this, manager, loadExecutor);
+
+		return changes.thenCompose(pending -> pending.changes().isEmpty()
+						? CompletableFuture.completedFuture(Optional.<T>empty())
+						: this.load(pending.changes(), manager, loadProfiler, loadExecutor).thenApply(Optional::of))
+				.thenCompose(helper::whenPrepared)
+				.thenCompose(data -> data.isPresent()
+						? this.apply(data.get(), manager, applyProfiler, applyExecutor)
+						: CompletableFuture.<Void>completedFuture(null))
+				.thenRun(() -> changes.join().commit());
+	}
+
+	/**
+	 * Gets the resource directories this resource reloader depends on.
+	 * <p>
+	 * This includes the directories this resource reloader loads resources from, such as {@code "functions"}, and
+	 * the directories of the data it reads from other resource reloaders, such as {@code "tags/functions"}.
+	 *
+	 * @return the resource directories to watch for changes
+	 */
+	Collection<String> getResourceDirectories();
+
+	/**
+	 * Asynchronously process and load the changed resource-based data. The code
+	 * must be thread-safe and not modify game state!
+	 * <p>
+	 * By default, this loads every resource regardless of the changes.
+	 *
+	 * @param changes  the changes of resources since the last reload
+	 * @param manager  the resource manager used during reloading
+	 * @param profiler the profiler which may be used for this stage
+	 * @param executor the executor which should be used for this stage
+	 * @return a CompletableFuture representing the "data loading" stage
+	 */
+	default CompletableFuture<T> load(ResourceChanges changes, ResourceManager manager, Profiler profiler, Executor executor) {
+		return this.load(manager, profiler, executor);
+	}
+}
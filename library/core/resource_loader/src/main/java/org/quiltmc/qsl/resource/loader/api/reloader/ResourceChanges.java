@@ -0,0 +1,53 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.resource.loader.api.reloader;
+
+import java.util.Collections;
+import java.util.Set;
+
+import net.minecraft.util.Identifier;
+
+/**
+ * Represents the changes of resources since the last reload of an {@link IncrementalResourceReloader}.
+ * <p>
+ * The changes cover every {@linkplain IncrementalResourceReloader#getResourceDirectories() watched directory},
+ * including the directories of data read from other resource reloaders.
+ *
+ * @param isFullReload {@code true} if every resource has to be loaded, in which case the sets of changes are empty,
+ *                     or {@code false} otherwise
+ * @param added        the identifiers of the added resources
+ * @param changed      the identifiers of the resources whose content changed
+ * @param removed      the identifiers of the removed resources
+ */
+public record ResourceChanges(boolean isFullReload, Set<Identifier> added, Set<Identifier> changed, Set<Identifier> removed) {
+	private static final ResourceChanges FULL_RELOAD = new ResourceChanges(true,
+			Collections.emptySet(), Collections.emptySet(), Collections.emptySet());
+
+	/**
+	 * {@return the changes of a reload which has to load every resource}
+	 */
+	public static ResourceChanges fullReload() {
+		return FULL_RELOAD;
+	}
+
+	/**
+	 * {@return {@code true} if nothing changed since the last reload, or {@code false} otherwise}
+	 */
+	public boolean isEmpty() {
+		return !this.isFullReload && this.added.isEmpty() && this.changed.isEmpty() && this.removed.isEmpty();
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.resource.loader.api.reloader;
+
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
+
+/**
+ * Represents the timings and resource usage of each resource reloader during a reload.
+ *
+ * @param type      the resource type of the reload
+ * @param wallNanos the wall time between the start of the reload and the completion of its last resource reloader, in nanoseconds
+ * @param reloaders the profiles of the resource reloaders, in reload order
+ * @see org.quiltmc.qsl.resource.loader.api.ResourceLoader#getLastReloadProfile()
+ */
+public record ResourceReloadProfile(ResourceType type, long wallNanos, List<Reloader> reloaders) {
+	/**
+	 * Represents the profile of a single resource reloader.
+	 *
+	 * @param id                the identifier of the resource reloader, or {@code null} if it isn't {@linkplain IdentifiableResourceReloader identifiable}
+	 * @param name              the name of the resource reloader
+	 * @param prepareNanos      the wall time between the start of the reload and the end of the preparation stage, in nanoseconds
+	 * @param applyNanos        the time spent running application stage tasks, in nanoseconds
+	 * @param executorWaitNanos the time tasks of this resource reloader spent waiting in the executors' queues, in nanoseconds
+	 * @param resourcesOpened   the amount of resources opened by this resource reloader
+	 * @param bytesRead         the amount of bytes read from the opened resources
+	 */
+	public record Reloader(@Nullable Identifier id, String name, long prepareNanos, long applyNanos, long executorWaitNanos,
+	                       long resourcesOpened, long bytesRead) {
+		/**
+		 * {@return the total time spent in the preparation and application stages, in nanoseconds}
+		 */
+		public long totalNanos() {
+			return this.prepareNanos + this.applyNanos;
+		}
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.resource.loader.impl;
+
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * A reader which decodes UTF-8 text straight from a byte buffer into the caller's character array.
+ * <p>
+ * Unlike going through an {@link java.io.InputStreamReader}, the bytes are never copied into an intermediate array.
+ */
+@ApiStatus.Internal
+public final class ByteBufferReader extends Reader {
+	private final ByteBuffer buffer;
+	private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	/**
+	 * Holds the second half of a surrogate pair which didn't fit in the caller's array.
+	 */
+	private final CharBuffer spill = CharBuffer.allocate(2).flip();
+
+	public ByteBufferReader(ByteBuffer buffer) {
+		this.buffer = buffer.duplicate();
+	}
+
+	@Override
+	public int read(char[] chars, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, chars.length);
+
+		if (length == 0) {
+			return 0;
+		}
+
+		var out = CharBuffer.wrap(chars, offset, length);
+
+		while (this.spill.hasRemaining() && out.hasRemaining()) {
+			out.put(this.spill.get());
+		}
+
+		if (out.hasRemaining() && this.buffer.hasRemaining()) {
+			// The whole input is available, so every decode call can be marked as the end of the input.
+			this.decoder.decode(this.buffer, out, true);
+
+			if (out.position() == offset) {
+				// A surrogate pair doesn't fit in a single char.
+				this.spill.clear();
+				this.decoder.decode(this.buffer, this.spill, true);
+				this.spill.flip();
+
+				if (this.spill.hasRemaining()) {
+					out.put(this.spill.get());
+				}
+			}
+		}
+
+		int read = out.position() - offset;
+		return read == 0 ? -1 : read;
+	}
+
+	@Override
+	public boolean ready() {
+		return true;
+	}
+
+	@Override
+	public void close() {
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.resource.loader.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMaps;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.minecraft.resource.Resource;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.resource.loader.api.reloader.IncrementalResourceReloader;
+import org.quiltmc.qsl.resource.loader.api.reloader.ResourceChanges;
+
+/**
+ * Tracks the content hashes of the resources of {@link IncrementalResourceReloader}s across reloads.
+ * <p>
+ * A snapshot of the hashes is only compared to when the reload replaces the resource manager the snapshot was taken with,
+ * which is only known for data pack reloads of a running server. Any other reload is a full reload.
+ */
+@ApiStatus.Internal
+public final class IncrementalReloadTracker {
+	private static final Logger LOGGER = LoggerFactory.getLogger("ResourceLoader");
+	/**
+	 * The hash of resources which could not be read, which are always considered as changed.
+	 */
+	private static final long UNKNOWN_HASH = 0L;
+	private static final Map<Identifier, Snapshot> SNAPSHOTS = new ConcurrentHashMap<>();
+	private static volatile @Nullable ResourceManager reloadedResourceManager;
+
+	private IncrementalReloadTracker() {
+		throw new UnsupportedOperationException("IncrementalReloadTracker only contains static definitions.");
+	}
+
+	/**
+	 * Marks the start of a data pack reload of a running server.
+	 *
+	 * @param oldResourceManager the resource manager which is being replaced
+	 */
+	public static void startServerReload(ResourceManager oldResourceManager) {
+		reloadedResourceManager = oldResourceManager;
+	}
+
+	/**
+	 * Marks the end of a data pack reload of a running server.
+	 */
+	public static void endServerReload() {
+		reloadedResourceManager = null;
+	}
+
+	/**
+	 * Computes the changes of the resources of the given resource reloader since its last reload.
+	 *
+	 * @param reloader the resource reloader
+	 * @param manager  the resource manager of the reload
+	 * @param executor the executor to hash the resources on
+	 * @return the future of the pending changes, which are to be {@linkplain PendingChanges#commit() committed} once applied
+	 */
+	public static CompletableFuture<PendingChanges> computeChanges(IncrementalResourceReloader<?> reloader,
+	                                                               ResourceManager manager, Executor executor) {
+		return CompletableFuture.supplyAsync(() -> {
+			Object2LongMap<Identifier> hashes = hashResources(reloader, manager);
+			Snapshot previous = SNAPSHOTS.get(reloader.getQuiltId());
+			ResourceManager reloaded = reloadedResourceManager;
+			ResourceChanges changes;
+
+			if (previous == null || reloaded == null || previous.manager().get() != reloaded) {
+				changes = ResourceChanges.fullReload();
+			} else {
+				changes = diff(previous.hashes(), hashes);
+				LOGGER.debug("Resource reloader {}: {} added, {} changed, {} removed resources.", reloader.getQuiltId(),
+						changes.added().size(), changes.changed().size(), changes.removed().size());
+			}
+
+			return new PendingChanges(reloader.getQuiltId(), changes, new Snapshot(new WeakReference<>(manager), hashes));
+		}, executor);
+	}
+
+	private static Object2LongMap<Identifier> hashResources(IncrementalResourceReloader<?> reloader, ResourceManager manager) {
+		var hashes = new Object2LongOpenHashMap<Identifier>();
+
+		for (String directory : reloader.getResourceDirectories()) {
+			for (Identifier id : manager.findResources(directory, path -> true)) {
+				if (!hashes.containsKey(id)) {
+					hashes.put(id, hashResource(manager, id));
+				}
+			}
+		}
+
+		return hashes;
+	}
+
+	private static long hashResource(ResourceManager manager, Identifier id) {
+		Hasher hasher = Hashing.murmur3_128().newHasher();
+		var buffer = new byte[8192];
+
+		try {
+			// Every stacked resource is hashed, as some resources such as tags are merged across packs.
+			for (Resource resource : manager.getAllResources(id)) {
+				try (resource) {
+					hasher.putUnencodedChars(resource.getResourcePackName());
+
+					InputStream stream = resource.getInputStream();
+					int read;
+
+					while ((read = stream.read(buffer)) != -1) {
+						hasher.putBytes(buffer, 0, read);
+					}
+				}
+			}
+		} catch (IOException e) {
+			LOGGER.warn("Failed to hash resource {}, considering it as changed.", id, e);
+			return UNKNOWN_HASH;
+		}
+
+		long hash = hasher.hash().asLong();
+		return hash == UNKNOWN_HASH ? 1L : hash;
+	}
+
+	private static ResourceChanges diff(Object2LongMap<Identifier> oldHashes, Object2LongMap<Identifier> newHashes) {
+		var added = new HashSet<Identifier>();
+		var changed = new HashSet<Identifier>();
+		var removed = new HashSet<Identifier>();
+
+		for (var entry : Object2LongMaps.fastIterable(newHashes)) {
+			Identifier id = entry.getKey();
+
+			if (!oldHashes.containsKey(id)) {
+				added.add(id);
+			} else if (entry.getLongValue() == UNKNOWN_HASH || oldHashes.getLong(id) != entry.getLongValue()) {
+				changed.add(id);
+			}
+		}
+
+		for (Identifier id : oldHashes.keySet()) {
+			if (!newHashes.containsKey(id)) {
+				removed.add(id);
+			}
+		}
+
+		return new ResourceChanges(false, Collections.unmodifiableSet(added), Collections.unmodifiableSet(changed),
+				Collections.unmodifiableSet(removed));
+	}
+
+	/**
+	 * Represents the changes of a reload, and the snapshot to keep once the reload is applied.
+	 */
+	public static final class PendingChanges {
+		private final Identifier reloaderId;
+		private final ResourceChanges changes;
+		private final Snapshot snapshot;
+
+		private PendingChanges(Identifier reloaderId, ResourceChanges changes, Snapshot snapshot) {
+			this.reloaderId = reloaderId;
+			this.changes = changes;
+			this.snapshot = snapshot;
+		}
+
+		/**
+		 * {@return the changes of the resources since the last reload}
+		 */
+		public ResourceChanges changes() {
+			return this.changes;
+		}
+
+		/**
+		 * Keeps the snapshot of this reload for the next one, to be called once the reload successfully applied.
+		 */
+		public void commit() {
+			SNAPSHOTS.put(this.reloaderId, this.snapshot);
+		}
+	}
+
+	private record Snapshot(WeakReference<ResourceManager> manager, Object2LongMap<Identifier> hashes) {
+	}
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.resource.loader.impl;
+
+import java.nio.file.Path;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.resource.ResourceType;
+
+/**
+ * Represents a resource pack which may provide an index of its files.
+ */
+@ApiStatus.Internal
+public interface IndexedResourcePack {
+	/**
+	 * Gets the file index of the given resource type.
+	 *
+	 * @param type the resource type
+	 * @return the file index, or {@code null} if this resource pack cannot provide a stable listing of its files
+	 */
+	@Nullable ResourcePackFileIndex getFileIndex(ResourceType type);
+
+	/**
+	 * {@return the root path of the files of this resource pack, which identifies it across reloads, or {@code null} if unknown}
+	 */
+	@Nullable Path getRootPath();
+}
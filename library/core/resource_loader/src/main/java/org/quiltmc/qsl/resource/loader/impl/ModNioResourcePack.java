@@ -17,19 +17,30 @@
 
 package org.quiltmc.qsl.resource.loader.impl;
 
+import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 
 import com.mojang.logging.LogUtils;
@@ -42,7 +53,6 @@ import net.minecraft.resource.pack.AbstractFileResourcePack;
 import net.minecraft.text.LiteralText;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
-import net.minecraft.util.InvalidIdentifierException;
 
 import org.quiltmc.loader.api.ModMetadata;
 import org.quiltmc.loader.api.QuiltLoader;
@@ -54,8 +64,12 @@ import org.quiltmc.qsl.resource.loader.mixin.IdentifierAccessor;
  * A NIO implementation of a mod resource pack.
  */
 @ApiStatus.Internal
-public class ModNioResourcePack extends AbstractFileResourcePack implements QuiltResourcePack {
+public class ModNioResourcePack extends AbstractFileResourcePack implements QuiltResourcePack, IndexedResourcePack {
 	private static final Logger LOGGER = LogUtils.getLogger();
+	/**
+	 * The size from which files are memory-mapped instead of being read, as mapping small files costs more than copying them.
+	 */
+	private static final long MAP_THRESHOLD = 64 * 1024;
 	/* Metadata */
 	private final String name;
 	private final Text displayName;
@@ -68,7 +82,7 @@ public class ModNioResourcePack extends AbstractFileResourcePack implements Quil
 	private final String separator;
 	/* Caches */
 	private final boolean cacheable;
-	private final Map<ResourceType, Set<String>> namespaces = new EnumMap<>(ResourceType.class);
+	private final Map<ResourceType, ResourcePackFileIndex> indices = new ConcurrentHashMap<>();
 
 	static ModNioResourcePack ofMod(ModMetadata modInfo, Path path, ResourceType type, @Nullable String name) {
 		return new ModNioResourcePack(
@@ -103,13 +117,124 @@ public class ModNioResourcePack extends AbstractFileResourcePack implements Quil
 		}
 	}
 
+	/**
+	 * Gets the file index of the given resource type, building it if needed.
+	 * <p>
+	 * Only cacheable packs have an index, as development packs may change while the game is running.
+	 *
+	 * @param type the resource type
+	 * @return the file index, or {@code null} if this pack isn't cacheable
+	 */
+	@Override
+	public @Nullable ResourcePackFileIndex getFileIndex(ResourceType type) {
+		if (!this.cacheable) {
+			return null;
+		}
+
+		return this.indices.computeIfAbsent(type, t -> {
+			Path typePath = this.getPath(t.getDirectory());
+
+			if (typePath == null) {
+				return ResourcePackFileIndex.EMPTY;
+			}
+
+			try {
+				return ResourcePackIndexCache.getOrBuild(typePath,
+						() -> ResourcePackFileIndex.build(typePath, this::warnInvalidNamespace));
+			} catch (IOException e) {
+				LOGGER.warn("Indexing of resource type " + t.getDirectory() + " in mod " + this.modInfo.id() + " failed!", e);
+				return ResourcePackFileIndex.EMPTY;
+			}
+		});
+	}
+
+	@Override
+	public Path getRootPath() {
+		return this.basePath;
+	}
+
+	/**
+	 * Gets the file index which covers the given file name.
+	 *
+	 * @param filename the file name
+	 * @return the file index, or {@code null} if the file isn't covered by any index
+	 */
+	private @Nullable ResourcePackFileIndex getIndexFor(String filename) {
+		if (!this.cacheable) {
+			return null;
+		}
+
+		int separatorIndex = filename.indexOf('/');
+
+		if (separatorIndex == -1) {
+			return null;
+		}
+
+		for (var type : ResourceType.values()) {
+			String directory = type.getDirectory();
+
+			if (directory.length() == separatorIndex && filename.startsWith(directory)) {
+				return this.getFileIndex(type);
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Finds the given file in this pack.
+	 *
+	 * @param filename the file name
+	 * @return the path of the file, or {@code null} if this pack doesn't have such file
+	 */
+	private @Nullable Path findFile(String filename) {
+		ResourcePackFileIndex index = this.getIndexFor(filename);
+
+		if (index != null) {
+			if (index.contains(filename.substring(filename.indexOf('/') + 1))) {
+				return this.basePath.resolve(filename.replace("/", this.separator));
+			}
+		} else {
+			Path path = this.getPath(filename);
+
+			if (path != null && Files.isRegularFile(path)) {
+				return path;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Reads the given file through the {@linkplain ResourceContentCache process-wide content cache}.
+	 *
+	 * @param filename the file name
+	 * @param path     the path of the file
+	 * @return the content of the file, or {@code null} if the file cannot be cached
+	 * @throws IOException if the file could not be read
+	 */
+	private @Nullable byte[] readCached(String filename, Path path) throws IOException {
+		// Files in directories are already kept in memory by the operating system.
+		if (!this.cacheable || path.getFileSystem() == FileSystems.getDefault()) {
+			return null;
+		}
+
+		return ResourceContentCache.read(this.basePath, filename, path);
+	}
+
 	@Override
 	protected InputStream openFile(String filename) throws IOException {
 		InputStream stream;
 
-		Path path = this.getPath(filename);
+		Path path = this.findFile(filename);
+
+		if (path != null) {
+			byte[] content = this.readCached(filename, path);
+
+			if (content != null) {
+				return new ByteArrayInputStream(content);
+			}
 
-		if (path != null && Files.isRegularFile(path)) {
 			return Files.newInputStream(path);
 		}
 
@@ -124,12 +249,50 @@ public class ModNioResourcePack extends AbstractFileResourcePack implements Quil
 		throw new FileNotFoundException("\"" + filename + "\" in Quilt mod \"" + modInfo.id() + "\"");
 	}
 
+	@Override
+	public ByteBuffer readBuffer(ResourceType type, Identifier id) throws IOException {
+		String filename = String.format("%s/%s/%s", type.getDirectory(), id.getNamespace(), id.getPath());
+		Path path = this.findFile(filename);
+
+		if (path == null) {
+			try (InputStream stream = this.openFile(filename)) {
+				return ByteBuffer.wrap(stream.readAllBytes()).asReadOnlyBuffer();
+			}
+		}
+
+		byte[] content = this.readCached(filename, path);
+
+		if (content != null) {
+			return ByteBuffer.wrap(content).asReadOnlyBuffer();
+		}
+
+		// Mapping is restricted to immutable packs, as some platforms lock mapped files until the mapping is collected.
+		if (this.cacheable && path.getFileSystem() == FileSystems.getDefault()) {
+			try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+				long size = channel.size();
+
+				if (size >= MAP_THRESHOLD) {
+					return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+				}
+			}
+		}
+
+		// Files in jars which are too large to be cached are decompressed straight into a buffer of the right size.
+		return ByteBuffer.wrap(Files.readAllBytes(path)).asReadOnlyBuffer();
+	}
+
 	@Override
 	protected boolean containsFile(String filename) {
 		if (ModResourcePackUtil.containsDefault(modInfo, filename)) {
 			return true;
 		}
 
+		ResourcePackFileIndex index = this.getIndexFor(filename);
+
+		if (index != null) {
+			return index.contains(filename.substring(filename.indexOf('/') + 1));
+		}
+
 		Path path = this.getPath(filename);
 		return path != null && Files.isRegularFile(path);
 	}
@@ -138,38 +301,76 @@ public class ModNioResourcePack extends AbstractFileResourcePack implements Quil
 	public Collection<Identifier> findResources(ResourceType type, String namespace, String startingPath, int depth,
 	                                            Predicate<String> pathFilter) {
 		var ids = new ArrayList<Identifier>();
-		String nioPath = startingPath.replace("/", separator);
-
-		Path namespacePath = this.getPath(type.getDirectory() + "/" + namespace);
-
-		if (namespacePath != null) {
-			Path searchPath = namespacePath.resolve(nioPath).toAbsolutePath().normalize();
-
-			if (Files.exists(searchPath)) {
-				try {
-					Files.walk(searchPath, depth)
-							.filter(Files::isRegularFile)
-							.filter((p) -> {
-								String filename = p.getFileName().toString();
-								return !filename.endsWith(".mcmeta") && pathFilter.test(filename);
-							})
-							.map(namespacePath::relativize)
-							.map((p) -> p.toString().replace(separator, "/"))
-							.forEach((s) -> {
-								try {
-									ids.add(new Identifier(namespace, s));
-								} catch (InvalidIdentifierException e) {
-									LOGGER.error(e.getMessage());
+		this.findResources(type, namespace, startingPath, depth, pathFilter, (id, opener) -> ids.add(id));
+		return ids;
+	}
+
+	@Override
+	public void findResources(ResourceType type, String namespace, String startingPath, int depth,
+	                          Predicate<String> pathFilter, BiConsumer<Identifier, ResourceOpener> consumer) {
+		var invalidPaths = new ArrayList<String>(0);
+		ResourcePackFileIndex index = this.getFileIndex(type);
+
+		if (index != null) {
+			String directory = type.getDirectory() + '/' + namespace + '/';
+
+			index.find(namespace, startingPath, depth, pathFilter, path -> {
+				if (IdentifierAccessor.callIsPathValid(path)) {
+					consumer.accept(new Identifier(namespace, path),
+							() -> Files.newInputStream(this.basePath.resolve((directory + path).replace("/", this.separator))));
+				} else {
+					invalidPaths.add(path);
+				}
+			});
+		} else {
+			Path namespacePath = this.getPath(type.getDirectory() + "/" + namespace);
+
+			if (namespacePath != null) {
+				Path searchPath = namespacePath.resolve(startingPath.replace("/", this.separator)).toAbsolutePath().normalize();
+
+				if (Files.exists(searchPath)) {
+					try {
+						Files.walkFileTree(searchPath, EnumSet.noneOf(FileVisitOption.class), depth, new SimpleFileVisitor<>() {
+							@Override
+							public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+								// Symbolic links to files are accepted, like Files.isRegularFile does, but linked directories aren't walked.
+								if (!attrs.isRegularFile() && !(attrs.isSymbolicLink() && Files.isRegularFile(file))) {
+									return FileVisitResult.CONTINUE;
+								}
+
+								String filename = file.getFileName().toString();
+
+								if (filename.endsWith(".mcmeta") || !pathFilter.test(filename)) {
+									return FileVisitResult.CONTINUE;
+								}
+
+								String path = namespacePath.relativize(file).toString();
+
+								if (!"/".equals(separator)) {
+									path = path.replace(separator, "/");
+								}
+
+								if (IdentifierAccessor.callIsPathValid(path)) {
+									consumer.accept(new Identifier(namespace, path), () -> Files.newInputStream(file));
+								} else {
+									invalidPaths.add(path);
 								}
-							});
-				} catch (IOException e) {
-					LOGGER.warn("findResources at " + startingPath + " in namespace " + namespace
-							+ ", mod " + this.modInfo.id() + " failed!", e);
+
+								return FileVisitResult.CONTINUE;
+							}
+						});
+					} catch (IOException e) {
+						LOGGER.warn("findResources at " + startingPath + " in namespace " + namespace
+								+ ", mod " + this.modInfo.id() + " failed!", e);
+					}
 				}
 			}
 		}
 
-		return ids;
+		if (!invalidPaths.isEmpty()) {
+			LOGGER.error("Ignored {} invalid resource paths in namespace {}, mod {}: {}",
+					invalidPaths.size(), namespace, this.modInfo.id(), invalidPaths);
+		}
 	}
 
 	protected void warnInvalidNamespace(String s) {
@@ -179,12 +380,10 @@ public class ModNioResourcePack extends AbstractFileResourcePack implements Quil
 
 	@Override
 	public Set<String> getNamespaces(ResourceType type) {
-		if (this.cacheable) {
-			var namespaces = this.namespaces.get(type);
+		ResourcePackFileIndex index = this.getFileIndex(type);
 
-			if (namespaces != null) {
-				return namespaces;
-			}
+		if (index != null) {
+			return index.getNamespaces();
 		}
 
 		try {
@@ -211,10 +410,6 @@ public class ModNioResourcePack extends AbstractFileResourcePack implements Quil
 				}
 			}
 
-			if (this.cacheable) {
-				this.namespaces.put(type, namespaces);
-			}
-
 			return namespaces;
 		} catch (IOException e) {
 			LOGGER.warn("getNamespaces in mod " + modInfo.id() + " failed!", e);
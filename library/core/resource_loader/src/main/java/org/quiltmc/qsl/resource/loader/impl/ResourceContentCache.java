@@ -0,0 +1,176 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.resource.loader.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import net.fabricmc.api.EnvType;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.resource.ResourceType;
+import net.minecraft.resource.pack.ResourcePack;
+
+import org.quiltmc.loader.api.minecraft.MinecraftQuiltLoader;
+import org.quiltmc.qsl.resource.loader.api.GroupResourcePack;
+
+/**
+ * A process-wide cache of the raw content of resources stored in mod jars.
+ * <p>
+ * Entries are keyed by the root path of the resource pack and the file name, which stay the same across the pack
+ * instances created by each reload. As the file name starts with {@code assets/} or {@code data/},
+ * client resources and server data never share entries: the cache saves decompressing the same files again
+ * on the next reload of the same resource type, like a resource pack reload on the client,
+ * or the integrated server loading its data packs again for every world opened in the same session.
+ * <p>
+ * Files are cached the first time they are read, if they are no larger than a sixteenth of the cache.
+ * The cache is bounded in size and evicts the least recently used entries first.
+ * <p>
+ * The cache is enabled by default on the client only, including its integrated server,
+ * as a dedicated server usually reads its resources once.
+ */
+@ApiStatus.Internal
+public final class ResourceContentCache {
+	/**
+	 * The maximum size of the cache, set in MiB, {@code 0} disables the cache.
+	 * It defaults to 64 MiB on the client and to {@code 0} on a dedicated server.
+	 */
+	private static final long MAX_SIZE = Integer.getInteger("quilt.resource_loader.content_cache_size",
+			MinecraftQuiltLoader.getEnvironmentType() == EnvType.CLIENT ? 64 : 0) * 1024L * 1024L;
+	/**
+	 * The maximum size of a single entry, so that a few large files cannot flush the whole cache.
+	 */
+	private static final long MAX_ENTRY_SIZE = MAX_SIZE / 16;
+	private static final Map<Key, byte[]> ENTRIES = new LinkedHashMap<>(256, 0.75f, true);
+	private static long size;
+
+	private ResourceContentCache() {
+		throw new UnsupportedOperationException("ResourceContentCache only contains static definitions.");
+	}
+
+	/**
+	 * Reads the given file through the cache, if it is small enough to be cached.
+	 *
+	 * @param root     the root path of the resource pack
+	 * @param filename the name of the file in the resource pack
+	 * @param path     the path of the file
+	 * @return the content of the file, or {@code null} if the file should be streamed instead
+	 * @throws IOException if the file could not be read
+	 */
+	static @Nullable byte[] read(Path root, String filename, Path path) throws IOException {
+		if (MAX_SIZE <= 0) {
+			return null;
+		}
+
+		var key = new Key(root, filename);
+
+		synchronized (ENTRIES) {
+			byte[] content = ENTRIES.get(key);
+
+			if (content != null) {
+				return content;
+			}
+		}
+
+		if (Files.size(path) > MAX_ENTRY_SIZE) {
+			return null;
+		}
+
+		// Reading happens outside the lock, at worst two threads read the same file once.
+		byte[] content;
+
+		try (InputStream stream = Files.newInputStream(path)) {
+			content = stream.readAllBytes();
+		}
+
+		synchronized (ENTRIES) {
+			if (ENTRIES.putIfAbsent(key, content) == null) {
+				size += content.length;
+				evict();
+			}
+		}
+
+		return content;
+	}
+
+	private static void evict() {
+		var iterator = ENTRIES.values().iterator();
+
+		while (size > MAX_SIZE && iterator.hasNext()) {
+			size -= iterator.next().length;
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Drops the cached resources of the given type which belong to resource packs not present anymore in the pack list.
+	 *
+	 * @param type  the resource type of the pack list
+	 * @param packs the new pack list
+	 */
+	public static void retain(ResourceType type, List<ResourcePack> packs) {
+		if (MAX_SIZE <= 0) {
+			return;
+		}
+
+		var roots = new HashSet<Path>();
+		collectRoots(packs.stream(), roots);
+
+		String prefix = type.getDirectory() + '/';
+
+		synchronized (ENTRIES) {
+			var iterator = ENTRIES.entrySet().iterator();
+
+			while (iterator.hasNext()) {
+				var entry = iterator.next();
+
+				if (entry.getKey().filename().startsWith(prefix) && !roots.contains(entry.getKey().root())) {
+					size -= entry.getValue().length;
+					iterator.remove();
+				}
+			}
+		}
+	}
+
+	private static void collectRoots(Stream<? extends ResourcePack> packs, Set<Path> roots) {
+		packs.forEach(pack -> {
+			if (pack instanceof GroupResourcePack grouped) {
+				collectRoots(grouped.streamPacks(), roots);
+			}
+
+			if (pack instanceof IndexedResourcePack indexed) {
+				Path root = indexed.getRootPath();
+
+				if (root != null) {
+					roots.add(root);
+				}
+			}
+		});
+	}
+
+	private record Key(Path root, String filename) {
+	}
+}
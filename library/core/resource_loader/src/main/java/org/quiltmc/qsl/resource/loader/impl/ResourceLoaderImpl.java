@@ -23,8 +23,11 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
@@ -33,6 +36,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import net.fabricmc.api.EnvType;
@@ -61,6 +65,7 @@ import org.quiltmc.qsl.resource.loader.api.GroupResourcePack;
 import org.quiltmc.qsl.resource.loader.api.ResourceLoader;
 import org.quiltmc.qsl.resource.loader.api.ResourcePackActivationType;
 import org.quiltmc.qsl.resource.loader.api.reloader.IdentifiableResourceReloader;
+import org.quiltmc.qsl.resource.loader.api.reloader.ResourceReloadProfile;
 import org.quiltmc.qsl.resource.loader.mixin.NamespaceResourceManagerAccessor;
 
 /**
@@ -72,10 +77,17 @@ public final class ResourceLoaderImpl implements ResourceLoader {
 	private static final Map<String, ModNioResourcePack> CLIENT_BUILTIN_RESOURCE_PACKS = new Object2ObjectOpenHashMap<>();
 	private static final Map<String, ModNioResourcePack> SERVER_BUILTIN_RESOURCE_PACKS = new Object2ObjectOpenHashMap<>();
 	private static final Logger LOGGER = LoggerFactory.getLogger("ResourceLoader");
+	private static final String SEQUENTIAL_RELOADERS_PROPERTY = "quilt.resource_loader.sequential_reloaders";
+	/**
+	 * Whether the modded resource reloaders should be applied one after another in their sorted order,
+	 * instead of being scheduled along their dependency graph.
+	 */
+	private static final boolean SEQUENTIAL_RELOADERS = Boolean.getBoolean(SEQUENTIAL_RELOADERS_PROPERTY);
 
 	private final Set<Identifier> addedListenerIds = new ObjectOpenHashSet<>();
 	private final Set<IdentifiableResourceReloader> addedReloaders = new LinkedHashSet<>();
 	final Set<ResourcePackProvider> resourcePackProfileProviders = new ObjectOpenHashSet<>();
+	private volatile @Nullable ResourceReloadProfile lastReloadProfile;
 
 	public static ResourceLoaderImpl get(ResourceType type) {
 		return IMPL_MAP.computeIfAbsent(type, t -> new ResourceLoaderImpl());
@@ -112,14 +124,27 @@ public final class ResourceLoaderImpl implements ResourceLoader {
 		}
 	}
 
+	@Override
+	public @Nullable ResourceReloadProfile getLastReloadProfile() {
+		return this.lastReloadProfile;
+	}
+
+	void setLastReloadProfile(ResourceReloadProfile profile) {
+		this.lastReloadProfile = profile;
+	}
+
 	/**
 	 * Sorts the given resource reloaders to satisfy dependencies.
+	 * <p>
+	 * Unless {@value #SEQUENTIAL_RELOADERS_PROPERTY} is set, the modded resource reloaders are added as a single
+	 * {@link ResourceReloaderGraph} which schedules them along their dependencies.
+	 * Otherwise, they are added one after another in the order of {@link #sortSequentially(List, Set)}.
 	 *
 	 * @param reloaders the resource reloaders to sort
 	 */
 	private void sort(List<ResourceReloader> reloaders) {
 		// Remove any modded reloaders to sort properly.
-		reloaders.removeAll(this.addedReloaders);
+		reloaders.removeIf(reloader -> reloader instanceof ResourceReloaderGraph || this.addedReloaders.contains(reloader));
 
 		// General rules:
 		// - We *do not* touch the ordering of vanilla listeners. Ever.
@@ -127,7 +152,6 @@ public final class ResourceLoaderImpl implements ResourceLoader {
 		//   trust them 100%. Only code doesn't lie.
 		// - We addReloadListener all custom listeners after vanilla listeners. Same reasons.
 
-		var reloadersToAdd = new ArrayList<>(this.addedReloaders);
 		var resolvedIds = new HashSet<Identifier>();
 
 		// Build a list of resolve identifiers from the reloaders that are already registered.
@@ -137,6 +161,70 @@ public final class ResourceLoaderImpl implements ResourceLoader {
 			}
 		}
 
+		if (SEQUENTIAL_RELOADERS) {
+			this.sortSequentially(reloaders, resolvedIds);
+			return;
+		}
+
+		// Kahn's algorithm: count the unresolved dependencies of each reloader,
+		// and resolve its dependents once a reloader is added.
+		var unresolvedCounts = new Object2IntOpenHashMap<IdentifiableResourceReloader>();
+		var dependents = new HashMap<Identifier, List<IdentifiableResourceReloader>>();
+		var resolvable = new ArrayDeque<IdentifiableResourceReloader>();
+
+		for (var reloader : this.addedReloaders) {
+			int unresolved = 0;
+
+			for (var dependency : new HashSet<>(reloader.getQuiltDependencies())) {
+				if (!resolvedIds.contains(dependency)) {
+					unresolved++;
+					dependents.computeIfAbsent(dependency, id -> new ArrayList<>()).add(reloader);
+				}
+			}
+
+			if (unresolved == 0) {
+				resolvable.add(reloader);
+			} else {
+				unresolvedCounts.put(reloader, unresolved);
+			}
+		}
+
+		var sorted = new ArrayList<IdentifiableResourceReloader>(this.addedReloaders.size());
+
+		while (!resolvable.isEmpty()) {
+			IdentifiableResourceReloader reloader = resolvable.poll();
+			sorted.add(reloader);
+
+			for (var dependent : dependents.getOrDefault(reloader.getQuiltId(), Collections.emptyList())) {
+				if (unresolvedCounts.addTo(dependent, -1) == 1) {
+					unresolvedCounts.removeInt(dependent);
+					resolvable.add(dependent);
+				}
+			}
+		}
+
+		if (!sorted.isEmpty()) {
+			reloaders.add(new ResourceReloaderGraph(sorted));
+		}
+
+		// Warn about all unsatisfied reloaders.
+		for (var reloader : this.addedReloaders) {
+			if (unresolvedCounts.containsKey(reloader)) {
+				LOGGER.warn("Could not resolve dependencies for resource reloader: " + reloader.getQuiltId() + "!");
+			}
+		}
+	}
+
+	/**
+	 * Appends the modded resource reloaders to the given list in the order used before they were scheduled along
+	 * their dependency graph: each pass over the reloaders adds every reloader whose dependencies are resolved,
+	 * until a pass adds none.
+	 *
+	 * @param reloaders   the Vanilla resource reloaders
+	 * @param resolvedIds the identifiers of the Vanilla resource reloaders
+	 */
+	private void sortSequentially(List<ResourceReloader> reloaders, Set<Identifier> resolvedIds) {
+		var reloadersToAdd = new ArrayList<>(this.addedReloaders);
 		int lastSize = -1;
 
 		// Loop as long as the reloader list is changed in the loop.
@@ -222,6 +310,9 @@ public final class ResourceLoaderImpl implements ResourceLoader {
 				packs.add(pack);
 			}
 		}
+
+		// Persist the file indices which had to be rebuilt while listing the namespaces.
+		ResourcePackIndexCache.saveIfDirty();
 	}
 
 	public static GroupResourcePack.Wrapped buildMinecraftResourcePack(DefaultResourcePack vanillaPack) {
@@ -246,20 +337,18 @@ public final class ResourceLoaderImpl implements ResourceLoader {
 	public static void appendResourcesFromGroup(NamespaceResourceManagerAccessor manager, Identifier id,
 	                                            GroupResourcePack groupResourcePack, List<Resource> resources)
 			throws IOException {
-		var packs = groupResourcePack.getPacks(id.getNamespace());
+		var packs = groupResourcePack.getPacks(manager.getType(), id);
 
-		if (packs == null) {
+		if (packs.isEmpty()) {
 			return;
 		}
 
 		Identifier metadataId = NamespaceResourceManagerAccessor.invokeGetMetadataPath(id);
 
 		for (var pack : packs) {
-			if (pack.contains(manager.getType(), id)) {
-				InputStream metadataInputStream = pack.contains(manager.getType(), metadataId)
-						? manager.invokeOpen(metadataId, pack) : null;
-				resources.add(new ResourceImpl(pack.getName(), id, manager.invokeOpen(id, pack), metadataInputStream));
-			}
+			InputStream metadataInputStream = pack.contains(manager.getType(), metadataId)
+					? manager.invokeOpen(metadataId, pack) : null;
+			resources.add(new ResourceImpl(pack.getName(), id, manager.invokeOpen(id, pack), metadataInputStream));
 		}
 	}
 
@@ -338,5 +427,7 @@ public final class ResourceLoaderImpl implements ResourceLoader {
 				}
 			}
 		}
+
+		ResourcePackIndexCache.saveIfDirty();
 	}
 }
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.resource.loader.impl;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import org.quiltmc.qsl.resource.loader.mixin.IdentifierAccessor;
+
+/**
+ * An immutable index of the files of a resource pack under a resource type directory.
+ * <p>
+ * Files are stored as paths relative to the resource type directory using {@code /} as the separator,
+ * which means the first path element is the namespace.
+ */
+@ApiStatus.Internal
+public final class ResourcePackFileIndex {
+	public static final ResourcePackFileIndex EMPTY = new ResourcePackFileIndex(Collections.emptySet(), new String[0]);
+
+	private final Set<String> namespaces;
+	private final String[] sortedFiles;
+	private final Set<String> files;
+
+	ResourcePackFileIndex(Set<String> namespaces, String[] files) {
+		this.namespaces = Collections.unmodifiableSet(namespaces);
+		this.sortedFiles = files;
+		Arrays.sort(this.sortedFiles);
+		this.files = new HashSet<>(Arrays.asList(this.sortedFiles));
+	}
+
+	/**
+	 * Walks the given resource type directory and indexes all of its files.
+	 *
+	 * @param typePath                the resource type directory
+	 * @param invalidNamespaceWarning the callback to warn about invalid namespaces, which are not indexed
+	 * @return the index
+	 * @throws IOException if the directory could not be walked
+	 */
+	public static ResourcePackFileIndex build(Path typePath, Consumer<String> invalidNamespaceWarning) throws IOException {
+		if (!Files.isDirectory(typePath)) {
+			return EMPTY;
+		}
+
+		var namespaces = new HashSet<String>();
+		var files = new ArrayList<String>();
+		String separator = typePath.getFileSystem().getSeparator();
+
+		Files.walkFileTree(typePath, new SimpleFileVisitor<>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+				if (dir.getNameCount() == typePath.getNameCount() + 1) {
+					// dir.getFileName may contain trailing slashes, remove them
+					String namespace = dir.getFileName().toString().replace(separator, "");
+
+					if (!IdentifierAccessor.callIsNamespaceValid(namespace)) {
+						invalidNamespaceWarning.accept(namespace);
+						return FileVisitResult.SKIP_SUBTREE;
+					}
+
+					namespaces.add(namespace);
+				}
+
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+				// Files directly in the resource type directory do not belong to any namespace.
+				// Links are not followed by the walk, but links to regular files can be opened like regular files.
+				boolean regularFile = attrs.isRegularFile() || (attrs.isSymbolicLink() && Files.isRegularFile(file));
+
+				if (regularFile && file.getNameCount() > typePath.getNameCount() + 1) {
+					files.add(typePath.relativize(file).toString().replace(separator, "/"));
+				}
+
+				return FileVisitResult.CONTINUE;
+			}
+		});
+
+		return new ResourcePackFileIndex(namespaces, files.toArray(new String[0]));
+	}
+
+	/**
+	 * {@return the namespaces present in this index}
+	 */
+	public Set<String> getNamespaces() {
+		return this.namespaces;
+	}
+
+	/**
+	 * {@return the sorted paths of the files of this index, which must not be modified}
+	 */
+	String[] getSortedFiles() {
+		return this.sortedFiles;
+	}
+
+	/**
+	 * {@return {@code true} if the given file is present in this index, otherwise {@code false}}
+	 *
+	 * @param file the file path relative to the resource type directory
+	 */
+	public boolean contains(String file) {
+		return this.files.contains(file);
+	}
+
+	/**
+	 * Visits every file of the given namespace, including metadata files.
+	 *
+	 * @param namespace the namespace
+	 * @param consumer  the consumer of the file paths relative to the namespace directory
+	 */
+	public void forEach(String namespace, Consumer<String> consumer) {
+		String prefix = namespace + '/';
+		int index = Arrays.binarySearch(this.sortedFiles, prefix);
+
+		if (index < 0) {
+			index = -index - 1;
+		}
+
+		for (; index < this.sortedFiles.length; index++) {
+			String file = this.sortedFiles[index];
+
+			if (!file.startsWith(prefix)) {
+				break;
+			}
+
+			consumer.accept(file.substring(prefix.length()));
+		}
+	}
+
+	/**
+	 * Visits the files present in the given directory, mirroring the semantics of {@link Files#walk(Path, int, java.nio.file.FileVisitOption...)}.
+	 *
+	 * @param namespace    the namespace
+	 * @param startingPath the directory to search in, relative to the namespace
+	 * @param maxDepth     the maximum depth of the search, a depth of {@code 1} only includes the files directly in the starting directory
+	 * @param fileFilter   the filter on file names
+	 * @param consumer     the consumer of the paths of the found files relative to the namespace directory
+	 */
+	public void find(String namespace, String startingPath, int maxDepth, Predicate<String> fileFilter, Consumer<String> consumer) {
+		int namespaceLength = namespace.length() + 1;
+		String prefix;
+
+		if (startingPath.isEmpty()) {
+			prefix = namespace + '/';
+		} else {
+			if (startingPath.endsWith("/")) {
+				startingPath = startingPath.substring(0, startingPath.length() - 1);
+			}
+
+			String file = namespace + '/' + startingPath;
+
+			// The starting path itself may be a file, in which case it's the only result.
+			if (this.files.contains(file)) {
+				if (acceptsFile(file, fileFilter)) {
+					consumer.accept(file.substring(namespaceLength));
+				}
+
+				return;
+			}
+
+			prefix = file + '/';
+		}
+
+		int index = Arrays.binarySearch(this.sortedFiles, prefix);
+
+		if (index < 0) {
+			index = -index - 1;
+		}
+
+		for (; index < this.sortedFiles.length; index++) {
+			String file = this.sortedFiles[index];
+
+			if (!file.startsWith(prefix)) {
+				break;
+			}
+
+			if (getDepth(file, prefix.length()) <= maxDepth && acceptsFile(file, fileFilter)) {
+				consumer.accept(file.substring(namespaceLength));
+			}
+		}
+	}
+
+	private static int getDepth(String file, int start) {
+		int depth = 1;
+
+		for (int i = start; i < file.length(); i++) {
+			if (file.charAt(i) == '/') {
+				depth++;
+			}
+		}
+
+		return depth;
+	}
+
+	private static boolean acceptsFile(String file, Predicate<String> fileFilter) {
+		String fileName = file.substring(file.lastIndexOf('/') + 1);
+		return !fileName.endsWith(".mcmeta") && fileFilter.test(fileName);
+	}
+}
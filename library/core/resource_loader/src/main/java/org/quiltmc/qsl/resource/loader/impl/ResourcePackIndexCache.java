@@ -0,0 +1,396 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.resource.loader.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.quiltmc.loader.api.QuiltLoader;
+
+/**
+ * A persistent cache of the {@link ResourcePackFileIndex} of resource packs stored in jars, kept across restarts.
+ * <p>
+ * Entries are keyed by the location of the indexed directory, and are only used if the size and last modification time
+ * of the jar still match. Stale entries are rebuilt lazily, pack by pack.
+ * <p>
+ * The cache file is read into memory on first use, and only the entries which are requested get decoded.
+ * It is not memory-mapped, as a live mapping would prevent replacing the file on some platforms.
+ */
+@ApiStatus.Internal
+final class ResourcePackIndexCache {
+	private static final Logger LOGGER = LoggerFactory.getLogger("ResourceLoader");
+	private static final boolean DISABLED = Boolean.getBoolean("quilt.resource_loader.disable_index_cache");
+	private static final int MAGIC = 0x51525049; // QRPI
+	private static final int VERSION = 1;
+
+	private static boolean loaded;
+	private static boolean dirty;
+	/**
+	 * The cache entries, either decoded or still pointing to the contents of the cache file.
+	 */
+	private static final Map<String, Entry> ENTRIES = new LinkedHashMap<>();
+
+	private ResourcePackIndexCache() {
+		throw new UnsupportedOperationException("ResourcePackIndexCache only contains static definitions.");
+	}
+
+	private static Path getCacheFile() {
+		return QuiltLoader.getGameDir().resolve("quilt/cache/resource_pack_index.bin");
+	}
+
+	/**
+	 * Gets the cached index of the given directory, or builds and caches it if the cached index is missing or stale.
+	 *
+	 * @param typePath the indexed directory
+	 * @param builder  the index builder
+	 * @return the index
+	 * @throws IOException if the index had to be built and building failed
+	 */
+	static ResourcePackFileIndex getOrBuild(Path typePath, IndexBuilder builder) throws IOException {
+		Origin origin = DISABLED ? null : Origin.of(typePath);
+
+		if (origin == null) {
+			return builder.build();
+		}
+
+		synchronized (ENTRIES) {
+			load();
+
+			Entry entry = ENTRIES.get(origin.key());
+
+			if (entry != null && entry.size() == origin.size() && entry.lastModified() == origin.lastModified()) {
+				try {
+					return entry.decode();
+				} catch (RuntimeException e) {
+					LOGGER.warn("Failed to decode cached resource pack index of {}, rebuilding it.", origin.key(), e);
+				}
+			}
+		}
+
+		ResourcePackFileIndex index = builder.build();
+
+		synchronized (ENTRIES) {
+			ENTRIES.put(origin.key(), new Entry(origin.size(), origin.lastModified(), index, null));
+			dirty = true;
+		}
+
+		return index;
+	}
+
+	private static void load() {
+		if (loaded) {
+			return;
+		}
+
+		loaded = true;
+		Path file = getCacheFile();
+
+		if (!Files.isRegularFile(file)) {
+			return;
+		}
+
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+				return;
+			}
+
+			int count = buffer.getInt();
+
+			for (int i = 0; i < count; i++) {
+				String key = readString(buffer);
+				long size = buffer.getLong();
+				long lastModified = buffer.getLong();
+				int length = buffer.getInt();
+				ByteBuffer payload = buffer.slice(buffer.position(), length);
+				buffer.position(buffer.position() + length);
+
+				ENTRIES.put(key, new Entry(size, lastModified, null, payload));
+			}
+		} catch (IOException | RuntimeException e) {
+			LOGGER.warn("Failed to read the resource pack index cache, it will be rebuilt.", e);
+			ENTRIES.clear();
+		}
+	}
+
+	/**
+	 * Saves the cache file if any entry has been rebuilt since the last save.
+	 * Entries whose jar doesn't exist anymore are dropped.
+	 */
+	static void saveIfDirty() {
+		synchronized (ENTRIES) {
+			if (!dirty) {
+				return;
+			}
+
+			dirty = false;
+			var output = new ByteArrayOutputStream();
+
+			try (var out = new DataOutputStream(output)) {
+				ENTRIES.entrySet().removeIf(entry -> !Origin.exists(entry.getKey()));
+
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(ENTRIES.size());
+
+				for (var entry : ENTRIES.entrySet()) {
+					writeString(out, entry.getKey());
+					out.writeLong(entry.getValue().size());
+					out.writeLong(entry.getValue().lastModified());
+
+					byte[] payload = entry.getValue().encode();
+					out.writeInt(payload.length);
+					out.write(payload);
+				}
+			} catch (IOException e) {
+				LOGGER.warn("Failed to encode the resource pack index cache.", e);
+				return;
+			}
+
+			Path file = getCacheFile();
+
+			try {
+				Files.createDirectories(file.getParent());
+				Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+				Files.write(temp, output.toByteArray());
+
+				try {
+					Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				} catch (AtomicMoveNotSupportedException e) {
+					Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+				}
+			} catch (IOException e) {
+				LOGGER.warn("Failed to save the resource pack index cache.", e);
+			}
+		}
+	}
+
+	private static byte[] encodeIndex(ResourcePackFileIndex index) throws IOException {
+		var output = new ByteArrayOutputStream();
+
+		try (var out = new DataOutputStream(output)) {
+			writeVarInt(out, index.getNamespaces().size());
+
+			for (String namespace : index.getNamespaces()) {
+				writeString(out, namespace);
+			}
+
+			// Files are sorted, so only the suffix which differs from the previous file is stored.
+			String[] files = index.getSortedFiles();
+			String previous = "";
+			writeVarInt(out, files.length);
+
+			for (String file : files) {
+				int common = 0;
+				int max = Math.min(previous.length(), file.length());
+
+				while (common < max && previous.charAt(common) == file.charAt(common)) {
+					common++;
+				}
+
+				writeVarInt(out, common);
+				writeString(out, file.substring(common));
+				previous = file;
+			}
+		}
+
+		return output.toByteArray();
+	}
+
+	private static ResourcePackFileIndex decodeIndex(ByteBuffer buffer) {
+		int namespaceCount = readVarInt(buffer);
+		var namespaces = new HashSet<String>(namespaceCount);
+
+		for (int i = 0; i < namespaceCount; i++) {
+			namespaces.add(readString(buffer));
+		}
+
+		var files = new String[readVarInt(buffer)];
+		String previous = "";
+
+		for (int i = 0; i < files.length; i++) {
+			int common = readVarInt(buffer);
+			files[i] = previous = previous.substring(0, common) + readString(buffer);
+		}
+
+		return new ResourcePackFileIndex(namespaces, files);
+	}
+
+	private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+
+		out.writeByte(value);
+	}
+
+	private static int readVarInt(ByteBuffer buffer) {
+		int value = 0;
+		int shift = 0;
+		byte b;
+
+		do {
+			b = buffer.get();
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+
+		return value;
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(out, bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		int length = readVarInt(buffer);
+		String value;
+
+		if (buffer.hasArray()) {
+			value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+		} else {
+			var bytes = new byte[length];
+			buffer.get(buffer.position(), bytes);
+			value = new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		buffer.position(buffer.position() + length);
+		return value;
+	}
+
+	@FunctionalInterface
+	interface IndexBuilder {
+		ResourcePackFileIndex build() throws IOException;
+	}
+
+	/**
+	 * Represents a cache entry, which is decoded from the payload read from the cache file on first use.
+	 */
+	private static final class Entry {
+		private final long size;
+		private final long lastModified;
+		private @Nullable ResourcePackFileIndex index;
+		private @Nullable ByteBuffer payload;
+
+		private Entry(long size, long lastModified, @Nullable ResourcePackFileIndex index, @Nullable ByteBuffer payload) {
+			this.size = size;
+			this.lastModified = lastModified;
+			this.index = index;
+			this.payload = payload;
+		}
+
+		long size() {
+			return this.size;
+		}
+
+		long lastModified() {
+			return this.lastModified;
+		}
+
+		ResourcePackFileIndex decode() {
+			if (this.index == null) {
+				this.index = decodeIndex(this.payload.duplicate());
+				this.payload = null;
+			}
+
+			return this.index;
+		}
+
+		byte[] encode() throws IOException {
+			if (this.payload != null) {
+				var bytes = new byte[this.payload.remaining()];
+				this.payload.duplicate().get(bytes);
+				return bytes;
+			}
+
+			return encodeIndex(this.index);
+		}
+	}
+
+	/**
+	 * Represents the jar a directory comes from.
+	 *
+	 * @param key          the location of the directory, including the jar
+	 * @param size         the size of the jar
+	 * @param lastModified the last modification time of the jar
+	 */
+	private record Origin(String key, long size, long lastModified) {
+		private static @Nullable Origin of(Path directory) {
+			try {
+				URI uri = directory.toUri();
+
+				// Only jars are cached, as directories may be modified without notice.
+				if (!"jar".equals(uri.getScheme())) {
+					return null;
+				}
+
+				String key = uri.getRawSchemeSpecificPart();
+				Path jar = getJar(key);
+
+				if (jar == null) {
+					return null;
+				}
+
+				BasicFileAttributes attributes = Files.readAttributes(jar, BasicFileAttributes.class);
+				return new Origin(key, attributes.size(), attributes.lastModifiedTime().toMillis());
+			} catch (Exception e) {
+				return null;
+			}
+		}
+
+		private static boolean exists(String key) {
+			try {
+				Path jar = getJar(key);
+				return jar != null && Files.isRegularFile(jar);
+			} catch (Exception e) {
+				return false;
+			}
+		}
+
+		private static @Nullable Path getJar(String key) throws Exception {
+			int separator = key.lastIndexOf("!/");
+
+			if (separator == -1) {
+				return null;
+			}
+
+			return Paths.get(new URI(key.substring(0, separator)));
+		}
+	}
+}
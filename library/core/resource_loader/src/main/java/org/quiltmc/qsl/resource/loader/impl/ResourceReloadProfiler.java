@@ -0,0 +1,333 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.resource.loader.impl;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.mojang.brigadier.CommandDispatcher;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.ResourceReloader;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.LiteralText;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.profiler.Profiler;
+
+import org.quiltmc.qsl.resource.loader.api.reloader.IdentifiableResourceReloader;
+import org.quiltmc.qsl.resource.loader.api.reloader.ResourceReloadProfile;
+
+/**
+ * Profiles each resource reloader of a reload, and publishes the result as a {@link ResourceReloadProfile}.
+ * <p>
+ * Resource reloaders are wrapped to time their stages and the tasks they submit to the executors.
+ * While one of their tasks runs, the opened resources are attributed to them.
+ * <p>
+ * Profiling is disabled unless the {@value #ENABLED_PROPERTY} system property is set to {@code true}.
+ */
+@ApiStatus.Internal
+public final class ResourceReloadProfiler {
+	private static final String ENABLED_PROPERTY = "quilt.resource_loader.profile_reloads";
+	private static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+	private static final Logger LOGGER = LoggerFactory.getLogger("ResourceLoader");
+	private static final ThreadLocal<Entry> CURRENT = new ThreadLocal<>();
+
+	private final ResourceType type;
+	private final long start = System.nanoTime();
+	private final List<Entry> entries = new ArrayList<>();
+	private final AtomicInteger remaining = new AtomicInteger();
+
+	private ResourceReloadProfiler(ResourceType type) {
+		this.type = type;
+	}
+
+	/**
+	 * Wraps the given resource reloaders to profile the reload they are about to take part in.
+	 *
+	 * @param type      the resource type of the reload
+	 * @param reloaders the resource reloaders
+	 * @return the profiled resource reloaders, or the given resource reloaders if profiling is disabled
+	 */
+	public static List<ResourceReloader> profile(ResourceType type, List<ResourceReloader> reloaders) {
+		if (!ENABLED) {
+			return reloaders;
+		}
+
+		var profiler = new ResourceReloadProfiler(type);
+		var profiled = new ArrayList<ResourceReloader>(reloaders.size());
+
+		for (var reloader : reloaders) {
+			if (reloader instanceof ResourceReloaderGraph graph) {
+				profiled.add(graph.map(profiler::wrap));
+			} else {
+				profiled.add(profiler.wrap(reloader));
+			}
+		}
+
+		return profiled;
+	}
+
+	/**
+	 * Attributes the given opened resource to the resource reloader running on the current thread, if any.
+	 *
+	 * @param stream the input stream of the opened resource
+	 * @return the input stream to use
+	 */
+	public static InputStream onResourceOpened(InputStream stream) {
+		if (!ENABLED) {
+			return stream;
+		}
+
+		Entry entry = CURRENT.get();
+
+		if (entry == null) {
+			return stream;
+		}
+
+		entry.resourcesOpened.increment();
+		return new CountingInputStream(stream, entry.bytesRead);
+	}
+
+	/**
+	 * Registers the {@code /quilt reload-profile} command, which prints the profile of the last data reload.
+	 *
+	 * @param dispatcher the command dispatcher
+	 */
+	public static void registerCommand(CommandDispatcher<ServerCommandSource> dispatcher) {
+		dispatcher.register(CommandManager.literal("quilt")
+				.then(CommandManager.literal("reload-profile")
+						.requires(source -> source.hasPermissionLevel(2))
+						.executes(context -> {
+							var source = context.getSource();
+							var profile = ResourceLoaderImpl.get(ResourceType.SERVER_DATA).getLastReloadProfile();
+
+							if (profile == null) {
+								source.sendError(new LiteralText(ENABLED
+										? "No data reload has been profiled yet."
+										: "Reload profiling is disabled, start the server with -D" + ENABLED_PROPERTY + "=true to enable it."));
+								return 0;
+							}
+
+							source.sendFeedback(new LiteralText(String.format("Last data reload took %.1f ms:",
+									profile.wallNanos() / 1e6)), false);
+							LOGGER.info("Last data reload took {} ms.", TimeUnit.NANOSECONDS.toMillis(profile.wallNanos()));
+
+							var reloaders = profile.reloaders().stream()
+									.sorted(Comparator.comparingLong(ResourceReloadProfile.Reloader::totalNanos).reversed())
+									.toList();
+
+							for (var reloader : reloaders) {
+								String line = String.format("%s: prepare %.1f ms, apply %.1f ms, waited %.1f ms, %d resources, %d bytes",
+										reloader.id() != null ? reloader.id() : reloader.name(),
+										reloader.prepareNanos() / 1e6, reloader.applyNanos() / 1e6, reloader.executorWaitNanos() / 1e6,
+										reloader.resourcesOpened(), reloader.bytesRead());
+								source.sendFeedback(new LiteralText(line), false);
+								LOGGER.info(line);
+							}
+
+							return reloaders.size();
+						})
+				)
+		);
+	}
+
+	private ResourceReloader wrap(ResourceReloader reloader) {
+		var entry = new Entry(reloader instanceof IdentifiableResourceReloader identifiable ? identifiable.getQuiltId() : null,
+				reloader.getName());
+		this.entries.add(entry);
+		this.remaining.incrementAndGet();
+		return new ProfiledReloader(reloader, entry);
+	}
+
+	private void complete() {
+		if (this.remaining.decrementAndGet() != 0) {
+			return;
+		}
+
+		var reloaders = new ArrayList<ResourceReloadProfile.Reloader>(this.entries.size());
+
+		for (var entry : this.entries) {
+			reloaders.add(entry.toProfile());
+		}
+
+		var profile = new ResourceReloadProfile(this.type, System.nanoTime() - this.start, List.copyOf(reloaders));
+		ResourceLoaderImpl.get(this.type).setLastReloadProfile(profile);
+
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Reload of {} took {} ms.", this.type, TimeUnit.NANOSECONDS.toMillis(profile.wallNanos()));
+		}
+	}
+
+	private final class Entry {
+		private final @Nullable Identifier id;
+		private final String name;
+		private volatile long prepareNanos = -1;
+		private final LongAdder applyNanos = new LongAdder();
+		private final LongAdder executorWaitNanos = new LongAdder();
+		private final LongAdder resourcesOpened = new LongAdder();
+		private final LongAdder bytesRead = new LongAdder();
+
+		private Entry(@Nullable Identifier id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		private Executor wrapExecutor(Executor executor, boolean apply) {
+			return task -> {
+				long submitted = System.nanoTime();
+
+				executor.execute(() -> {
+					long begin = System.nanoTime();
+					this.executorWaitNanos.add(begin - submitted);
+
+					try {
+						this.run(task);
+					} finally {
+						if (apply) {
+							this.applyNanos.add(System.nanoTime() - begin);
+						}
+					}
+				});
+			};
+		}
+
+		private void run(Runnable task) {
+			Entry previous = CURRENT.get();
+			CURRENT.set(this);
+
+			try {
+				task.run();
+			} finally {
+				CURRENT.set(previous);
+			}
+		}
+
+		private void markPrepared() {
+			if (this.prepareNanos == -1) {
+				this.prepareNanos = System.nanoTime() - ResourceReloadProfiler.this.start;
+			}
+		}
+
+		private ResourceReloadProfile.Reloader toProfile() {
+			return new ResourceReloadProfile.Reloader(this.id, this.name, Math.max(this.prepareNanos, 0), this.applyNanos.sum(),
+					this.executorWaitNanos.sum(), this.resourcesOpened.sum(), this.bytesRead.sum());
+		}
+	}
+
+	private final class ProfiledReloader implements ResourceReloader {
+		private final ResourceReloader delegate;
+		private final Entry entry;
+
+		private ProfiledReloader(ResourceReloader delegate, Entry entry) {
+			this.delegate = delegate;
+			this.entry = entry;
+		}
+
+		@Override
+		public CompletableFuture<Void> reload(Synchronizer synchronizer, ResourceManager manager,
+		                                      Profiler prepareProfiler, Profiler applyProfiler,
+		                                      Executor prepareExecutor, Executor applyExecutor) {
+			var profiledSynchronizer = new Synchronizer() {
+				@Override
+				public <T> CompletableFuture<T> whenPrepared(T preparedObject) {
+					ProfiledReloader.this.entry.markPrepared();
+					return synchronizer.whenPrepared(preparedObject);
+				}
+			};
+
+			CompletableFuture<Void> future;
+			Entry previous = CURRENT.get();
+			// Some resource reloaders open resources directly in this call.
+			CURRENT.set(this.entry);
+
+			try {
+				future = this.delegate.reload(profiledSynchronizer, manager, prepareProfiler, applyProfiler,
+						this.entry.wrapExecutor(prepareExecutor, false), this.entry.wrapExecutor(applyExecutor, true));
+			} finally {
+				CURRENT.set(previous);
+			}
+
+			return future.whenComplete((unused, throwable) -> ResourceReloadProfiler.this.complete());
+		}
+
+		@Override
+		public String getName() {
+			return this.delegate.getName();
+		}
+	}
+
+	/**
+	 * Counts the bytes read from a resource, and adds them to the resource reloader's total once the resource is closed.
+	 */
+	private static final class CountingInputStream extends FilterInputStream {
+		private final LongAdder counter;
+		private long count;
+		private boolean closed;
+
+		private CountingInputStream(InputStream in, LongAdder counter) {
+			super(in);
+			this.counter = counter;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+
+			if (b != -1) {
+				this.count++;
+			}
+
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int read = super.read(b, off, len);
+
+			if (read > 0) {
+				this.count += read;
+			}
+
+			return read;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (!this.closed) {
+				this.closed = true;
+				this.counter.add(this.count);
+			}
+
+			super.close();
+		}
+	}
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.resource.loader.impl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.UnaryOperator;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.jetbrains.annotations.ApiStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.ResourceReloader;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.Unit;
+import net.minecraft.util.Util;
+import net.minecraft.util.profiler.DummyProfiler;
+import net.minecraft.util.profiler.Profiler;
+import net.minecraft.util.profiler.ProfilerSystem;
+
+import org.quiltmc.qsl.resource.loader.api.reloader.IdentifiableResourceReloader;
+
+/**
+ * Represents the dependency graph of the modded resource reloaders, which is reloaded as a single resource reloader
+ * placed after every Vanilla resource reloader.
+ * <p>
+ * The graph takes part in the Vanilla "all prepared" barrier as soon as it starts reloading, so the preparation stage
+ * of its resource reloaders doesn't hold back the application of Vanilla resource reloaders. Each of its resource reloaders
+ * then applies as soon as the Vanilla resource reloaders and its own dependencies have applied,
+ * instead of waiting for every other modded resource reloader.
+ * <p>
+ * As the resource reloaders of the graph run concurrently, they cannot share the profilers given to the graph.
+ * When the reload is profiled, each of them gets profilers of its own, whose results are logged once it has finished,
+ * like {@link net.minecraft.resource.ProfiledResourceReload} does for every resource reloader.
+ */
+@ApiStatus.Internal
+final class ResourceReloaderGraph implements ResourceReloader {
+	private static final Logger LOGGER = LoggerFactory.getLogger("ResourceLoader");
+	private final ResourceReloader[] reloaders;
+	private final int[][] dependencies;
+
+	/**
+	 * Constructs the resource reloader graph.
+	 *
+	 * @param reloaders the resource reloaders, in a topological order of their dependencies
+	 */
+	ResourceReloaderGraph(List<IdentifiableResourceReloader> reloaders) {
+		this.reloaders = reloaders.toArray(new ResourceReloader[0]);
+		this.dependencies = new int[this.reloaders.length][];
+
+		var indices = new HashMap<Identifier, Integer>();
+
+		for (int i = 0; i < this.reloaders.length; i++) {
+			var reloaderDependencies = new IntArrayList();
+
+			for (var dependency : reloaders.get(i).getQuiltDependencies()) {
+				// Dependencies outside the graph are Vanilla resource reloaders which always apply first.
+				Integer index = indices.get(dependency);
+
+				if (index != null && !reloaderDependencies.contains(index.intValue())) {
+					reloaderDependencies.add(index.intValue());
+				}
+			}
+
+			this.dependencies[i] = reloaderDependencies.toIntArray();
+			indices.put(reloaders.get(i).getQuiltId(), i);
+		}
+	}
+
+	private ResourceReloaderGraph(ResourceReloader[] reloaders, int[][] dependencies) {
+		this.reloaders = reloaders;
+		this.dependencies = dependencies;
+	}
+
+	/**
+	 * Creates a copy of this graph with each resource reloader replaced, keeping the dependencies.
+	 *
+	 * @param mapper the function replacing the resource reloaders
+	 * @return the new graph
+	 */
+	ResourceReloaderGraph map(UnaryOperator<ResourceReloader> mapper) {
+		var reloaders = new ResourceReloader[this.reloaders.length];
+
+		for (int i = 0; i < reloaders.length; i++) {
+			reloaders[i] = mapper.apply(this.reloaders[i]);
+		}
+
+		return new ResourceReloaderGraph(reloaders, this.dependencies);
+	}
+
+	@Override
+	public CompletableFuture<Void> reload(Synchronizer synchronizer, ResourceManager manager,
+	                                      Profiler prepareProfiler, Profiler applyProfiler,
+	                                      Executor prepareExecutor, Executor applyExecutor) {
+		// As the last resource reloader, this completes once every Vanilla resource reloader has applied.
+		CompletableFuture<Unit> vanillaApplied = synchronizer.whenPrepared(Unit.INSTANCE);
+		var applied = new CompletableFuture<?>[this.reloaders.length];
+		// Profilers are not thread-safe, a profiled reload gives its own profilers to each resource reloader.
+		boolean profiled = prepareProfiler != DummyProfiler.INSTANCE || applyProfiler != DummyProfiler.INSTANCE;
+
+		for (int i = 0; i < this.reloaders.length; i++) {
+			int[] reloaderDependencies = this.dependencies[i];
+			CompletableFuture<?> ready;
+
+			if (reloaderDependencies.length == 0) {
+				ready = vanillaApplied;
+			} else {
+				var awaited = new CompletableFuture<?>[reloaderDependencies.length + 1];
+				awaited[0] = vanillaApplied;
+
+				for (int j = 0; j < reloaderDependencies.length; j++) {
+					awaited[j + 1] = applied[reloaderDependencies[j]];
+				}
+
+				ready = CompletableFuture.allOf(awaited);
+			}
+
+			var nodeSynchronizer = new Synchronizer() {
+				@Override
+				public <T> CompletableFuture<T> whenPrepared(T preparedObject) {
+					return ready.thenApply(unused -> preparedObject);
+				}
+			};
+
+			if (profiled) {
+				applied[i] = this.reloadProfiled(this.reloaders[i], nodeSynchronizer, manager, prepareExecutor, applyExecutor);
+			} else {
+				applied[i] = this.reloaders[i].reload(nodeSynchronizer, manager, DummyProfiler.INSTANCE, DummyProfiler.INSTANCE,
+						prepareExecutor, applyExecutor);
+			}
+		}
+
+		return CompletableFuture.allOf(applied);
+	}
+
+	private CompletableFuture<Void> reloadProfiled(ResourceReloader reloader, Synchronizer synchronizer, ResourceManager manager,
+	                                               Executor prepareExecutor, Executor applyExecutor) {
+		var prepareProfiler = new ProfilerSystem(Util.nanoTimeSupplier, () -> 0, false);
+		var applyProfiler = new ProfilerSystem(Util.nanoTimeSupplier, () -> 0, false);
+
+		return reloader.reload(synchronizer, manager, prepareProfiler, applyProfiler, prepareExecutor, applyExecutor)
+				.thenRunAsync(() -> {
+					var prepareResult = prepareProfiler.getResult();
+					var applyResult = applyProfiler.getResult();
+
+					LOGGER.debug("Finished reloading {} (prepare profile: {} ms over {} ticks, apply profile: {} ms over {} ticks).",
+							reloader.getName(),
+							prepareResult.getTimeSpan() / 1_000_000, prepareResult.getTickSpan(),
+							applyResult.getTimeSpan() / 1_000_000, applyResult.getTickSpan());
+				}, applyExecutor);
+	}
+
+	@Override
+	public String getName() {
+		return "Quilt Resource Reloaders";
+	}
+}
@@ -18,6 +18,8 @@ package org.quiltmc.qsl.resource.loader.mixin;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.function.Predicate;
 
@@ -34,7 +36,10 @@ import net.minecraft.resource.pack.DefaultResourcePack;
 import net.minecraft.resource.pack.ResourcePack;
 import net.minecraft.util.Identifier;
 
+import org.quiltmc.qsl.resource.loader.api.QuiltResourcePack;
+import org.quiltmc.qsl.resource.loader.impl.IndexedResourcePack;
 import org.quiltmc.qsl.resource.loader.impl.ModNioResourcePack;
+import org.quiltmc.qsl.resource.loader.impl.ResourcePackFileIndex;
 import org.quiltmc.qsl.resource.loader.impl.ResourceLoaderImpl;
 
 /**
@@ -43,7 +48,7 @@ import org.quiltmc.qsl.resource.loader.impl.ResourceLoaderImpl;
  * This well-known bug caused many issues of Vanilla tags being overwritten by mods' tags.
  */
 @Mixin(DefaultResourcePack.class)
-public abstract class DefaultResourcePackMixin implements ResourcePack {
+public abstract class DefaultResourcePackMixin implements ResourcePack, QuiltResourcePack, IndexedResourcePack {
 	// Redirects all resource access to the MC resource pack.
 	@Unique
 	final ModNioResourcePack quilt$internalPack = this.locateAndLoad();
@@ -104,6 +109,21 @@ public abstract class DefaultResourcePackMixin implements ResourcePack {
 		return this.quilt$internalPack.findResources(type, namespace, prefix, maxDepth, pathFilter);
 	}
 
+	@Override
+	public ByteBuffer readBuffer(ResourceType type, Identifier id) throws IOException {
+		return this.quilt$internalPack.readBuffer(type, id);
+	}
+
+	@Override
+	public @Nullable ResourcePackFileIndex getFileIndex(ResourceType type) {
+		return this.quilt$internalPack.getFileIndex(type);
+	}
+
+	@Override
+	public Path getRootPath() {
+		return this.quilt$internalPack.getRootPath();
+	}
+
 	@Inject(method = "close", at = @At("HEAD"), remap = false)
 	private void onClose(CallbackInfo ci) {
 		this.quilt$internalPack.close();
@@ -27,4 +27,9 @@ public interface IdentifierAccessor {
 	static boolean callIsNamespaceValid(String namespace) {
 		throw new IllegalStateException("Invoker injection failed.");
 	}
+
+	@Invoker
+	static boolean callIsPathValid(String path) {
+		throw new IllegalStateException("Invoker injection failed.");
+	}
 }
@@ -34,6 +34,7 @@ import net.minecraft.resource.pack.ResourcePackProfile;
 import net.minecraft.server.MinecraftServer;
 
 import org.quiltmc.qsl.resource.loader.api.ResourceLoaderEvents;
+import org.quiltmc.qsl.resource.loader.impl.IncrementalReloadTracker;
 import org.quiltmc.qsl.resource.loader.impl.QuiltBuiltinResourcePackProfile;
 
 @Mixin(MinecraftServer.class)
@@ -61,6 +62,7 @@ public abstract class MinecraftServerMixin {
 
 	@Inject(method = "reloadResources", at = @At("HEAD"))
 	private void onReloadResourcesStart(Collection<String> collection, CallbackInfoReturnable<CompletableFuture<Void>> cir) {
+		IncrementalReloadTracker.startServerReload(this.getResourceManager());
 		ResourceLoaderEvents.START_DATA_PACK_RELOAD.invoker().onStartDataPackReload((MinecraftServer) (Object) this,
 				this.getResourceManager());
 	}
@@ -68,6 +70,7 @@ public abstract class MinecraftServerMixin {
 	@Inject(method = "reloadResources", at = @At("TAIL"))
 	private void onReloadResourcesEnd(Collection<String> collection, CallbackInfoReturnable<CompletableFuture<Void>> cir) {
 		cir.getReturnValue().handleAsync((value, throwable) -> {
+			IncrementalReloadTracker.endServerReload();
 			ResourceLoaderEvents.END_DATA_PACK_RELOAD.invoker().onEndDataPackReload((MinecraftServer) (Object) this,
 					this.getResourceManager(), throwable);
 			return value;
@@ -16,20 +16,30 @@
 
 package org.quiltmc.qsl.resource.loader.mixin;
 
+import java.util.List;
 import java.util.stream.Stream;
 
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 import net.minecraft.resource.MultiPackResourceManager;
+import net.minecraft.resource.ResourceType;
 import net.minecraft.resource.pack.ResourcePack;
 
 import org.quiltmc.qsl.resource.loader.api.GroupResourcePack;
+import org.quiltmc.qsl.resource.loader.impl.ResourceContentCache;
 
 @Mixin(MultiPackResourceManager.class)
 public class MultiPackResourceManagerMixin {
+	@Inject(method = "<init>", at = @At("RETURN"))
+	private void onInit(ResourceType type, List<ResourcePack> packs, CallbackInfo ci) {
+		// The pack list may have changed, drop the cached content of the packs which aren't used anymore.
+		ResourceContentCache.retain(type, packs);
+	}
+
 	@Inject(method = "streamResourcePacks", at = @At("RETURN"), cancellable = true)
 	private void onStreamResourcePacks(CallbackInfoReturnable<Stream<ResourcePack>> cir) {
 		cir.setReturnValue(cir.getReturnValue()
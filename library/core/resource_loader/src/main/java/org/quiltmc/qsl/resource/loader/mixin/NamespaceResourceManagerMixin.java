@@ -17,6 +17,7 @@
 package org.quiltmc.qsl.resource.loader.mixin;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -36,6 +37,7 @@ import net.minecraft.util.Identifier;
 
 import org.quiltmc.qsl.resource.loader.api.GroupResourcePack;
 import org.quiltmc.qsl.resource.loader.impl.ResourceLoaderImpl;
+import org.quiltmc.qsl.resource.loader.impl.ResourceReloadProfiler;
 
 @Mixin(NamespaceResourceManager.class)
 public class NamespaceResourceManagerMixin {
@@ -87,4 +89,10 @@ public class NamespaceResourceManagerMixin {
 				})
 		);
 	}
+
+	@Inject(method = "open", at = @At("RETURN"), cancellable = true)
+	private void onOpen(Identifier id, ResourcePack pack, CallbackInfoReturnable<InputStream> cir) {
+		// Attributes the opened resource to the resource reloader currently being profiled, if any.
+		cir.setReturnValue(ResourceReloadProfiler.onResourceOpened(cir.getReturnValue()));
+	}
 }
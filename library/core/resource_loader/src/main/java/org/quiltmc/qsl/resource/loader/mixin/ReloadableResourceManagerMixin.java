@@ -28,6 +28,7 @@ import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.ModifyArg;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 import net.minecraft.resource.ReloadableResourceManager;
@@ -39,6 +40,7 @@ import net.minecraft.util.Unit;
 
 import org.quiltmc.qsl.resource.loader.api.GroupResourcePack;
 import org.quiltmc.qsl.resource.loader.impl.ResourceLoaderImpl;
+import org.quiltmc.qsl.resource.loader.impl.ResourceReloadProfiler;
 
 @Mixin(ReloadableResourceManager.class)
 public class ReloadableResourceManagerMixin {
@@ -60,6 +62,18 @@ public class ReloadableResourceManagerMixin {
 		ResourceLoaderImpl.sort(this.type, this.reloaders);
 	}
 
+	@ModifyArg(
+			method = "reload",
+			at = @At(
+					value = "INVOKE",
+					target = "Lnet/minecraft/resource/SimpleResourceReload;start(Lnet/minecraft/resource/ResourceManager;Ljava/util/List;Ljava/util/concurrent/Executor;Ljava/util/concurrent/Executor;Ljava/util/concurrent/CompletableFuture;Z)Lnet/minecraft/resource/ResourceReload;"
+			),
+			index = 1
+	)
+	private List<ResourceReloader> profileReloaders(List<ResourceReloader> reloaders) {
+		return ResourceReloadProfiler.profile(this.type, reloaders);
+	}
+
 	/**
 	 * private static synthetic method_29491(Ljava/util/List;)Ljava/lang/Object;
 	 * Supplier lambda in beginMonitoredReload method.
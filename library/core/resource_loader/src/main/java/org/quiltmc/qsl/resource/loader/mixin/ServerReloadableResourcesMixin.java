@@ -22,6 +22,7 @@ import java.util.List;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.ModifyArg;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 import net.minecraft.resource.ResourceReloader;
@@ -29,6 +30,7 @@ import net.minecraft.resource.ResourceType;
 import net.minecraft.server.ServerReloadableResources;
 
 import org.quiltmc.qsl.resource.loader.impl.ResourceLoaderImpl;
+import org.quiltmc.qsl.resource.loader.impl.ResourceReloadProfiler;
 
 @Mixin(ServerReloadableResources.class)
 public class ServerReloadableResourcesMixin {
@@ -40,4 +42,16 @@ public class ServerReloadableResourcesMixin {
 		ResourceLoaderImpl.sort(ResourceType.SERVER_DATA, list);
 		cir.setReturnValue(list);
 	}
+
+	@ModifyArg(
+			method = "loadResources",
+			at = @At(
+					value = "INVOKE",
+					target = "Lnet/minecraft/resource/SimpleResourceReload;start(Lnet/minecraft/resource/ResourceManager;Ljava/util/List;Ljava/util/concurrent/Executor;Ljava/util/concurrent/Executor;Ljava/util/concurrent/CompletableFuture;Z)Lnet/minecraft/resource/ResourceReload;"
+			),
+			index = 1
+	)
+	private static List<ResourceReloader> profileReloaders(List<ResourceReloader> reloaders) {
+		return ResourceReloadProfiler.profile(ResourceType.SERVER_DATA, reloaders);
+	}
 }
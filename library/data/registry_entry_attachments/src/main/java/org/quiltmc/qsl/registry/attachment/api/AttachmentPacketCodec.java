@@ -0,0 +1,87 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.registry.attachment.api;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import net.minecraft.network.PacketByteBuf;
+
+/**
+ * A direct binary codec for the values of an attachment, used to synchronize them to clients.
+ * <p>
+ * Attachments without a packet codec are synchronized by encoding their values to NBT with their {@code Codec},
+ * which is considerably larger and slower to decode.
+ * <p>
+ * Values are decoded on {@linkplain io.netty.channel.EventLoop netty's event loops}, so decoding must not touch game state.
+ *
+ * @param <V> attached value type
+ * @see RegistryEntryAttachment.Builder#packetCodec(AttachmentPacketCodec)
+ */
+public interface AttachmentPacketCodec<V> {
+	AttachmentPacketCodec<Boolean> BOOL = of(PacketByteBuf::writeBoolean, PacketByteBuf::readBoolean);
+	AttachmentPacketCodec<Integer> INT = of(PacketByteBuf::writeInt, PacketByteBuf::readInt);
+	AttachmentPacketCodec<Long> LONG = of(PacketByteBuf::writeLong, PacketByteBuf::readLong);
+	AttachmentPacketCodec<Float> FLOAT = of(PacketByteBuf::writeFloat, PacketByteBuf::readFloat);
+	AttachmentPacketCodec<Double> DOUBLE = of(PacketByteBuf::writeDouble, PacketByteBuf::readDouble);
+	/**
+	 * The packet codec of strings.
+	 * <p>
+	 * Unlike {@link PacketByteBuf#writeString(String)}, it does not limit strings to 32767 characters.
+	 * Strings are only bounded by the maximum size of a sync packet, which holds every value of the attachment.
+	 */
+	AttachmentPacketCodec<String> STRING = of((buf, value) -> buf.writeString(value, Integer.MAX_VALUE),
+			buf -> buf.readString(Integer.MAX_VALUE));
+
+	/**
+	 * Creates a packet codec from an encoding and a decoding function.
+	 *
+	 * @param encoder the function writing a value to a buffer
+	 * @param decoder the function reading a value from a buffer
+	 * @param <V>     attached value type
+	 * @return a packet codec
+	 */
+	static <V> AttachmentPacketCodec<V> of(BiConsumer<PacketByteBuf, V> encoder, Function<PacketByteBuf, V> decoder) {
+		return new AttachmentPacketCodec<>() {
+			@Override
+			public void encode(PacketByteBuf buf, V value) {
+				encoder.accept(buf, value);
+			}
+
+			@Override
+			public V decode(PacketByteBuf buf) {
+				return decoder.apply(buf);
+			}
+		};
+	}
+
+	/**
+	 * Writes a value to a buffer.
+	 *
+	 * @param buf   the buffer to write to
+	 * @param value the value
+	 */
+	void encode(PacketByteBuf buf, V value);
+
+	/**
+	 * Reads a value from a buffer.
+	 *
+	 * @param buf the buffer to read from
+	 * @return the value
+	 */
+	V decode(PacketByteBuf buf);
+}
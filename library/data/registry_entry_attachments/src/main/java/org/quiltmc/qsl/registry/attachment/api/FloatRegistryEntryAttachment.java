@@ -0,0 +1,75 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.registry.attachment.api;
+
+import com.mojang.serialization.Codec;
+import org.jetbrains.annotations.ApiStatus;
+
+import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
+
+import org.quiltmc.qsl.registry.attachment.impl.FloatRegistryEntryAttachmentImpl;
+
+/**
+ * Represents a {@code float} value attached to a registry entry.
+ * <p>
+ * Values are stored unboxed and indexed by the raw identifiers of the entries, which makes
+ * {@link #getFloat(Object, float)} cheaper than {@link #getValue(Object)}.
+ *
+ * @param <R> type of the entries in the registry
+ */
+@ApiStatus.NonExtendable
+public interface FloatRegistryEntryAttachment<R> extends RegistryEntryAttachment<R, Float> {
+	/**
+	 * Creates a builder for a {@code float} attachment.
+	 *
+	 * @param registry registry to attach to
+	 * @param id       attachment identifier
+	 * @param <R>      type of the entries in the registry
+	 * @return a builder
+	 */
+	static <R> Builder<R> builder(Registry<R> registry, Identifier id) {
+		return new Builder<>(registry, id);
+	}
+
+	/**
+	 * Gets the value associated with this attachment for the specified entry.
+	 *
+	 * @param entry    registry entry
+	 * @param fallback value to return if no value is assigned
+	 * @return attachment value, or {@code fallback} if no value is assigned
+	 */
+	float getFloat(R entry, float fallback);
+
+	/**
+	 * Builder for {@code float} attachments.
+	 *
+	 * @param <R> type of the entries in the registry
+	 */
+	final class Builder<R> extends RegistryEntryAttachment.AbstractBuilder<R, Float, Builder<R>> {
+		private Builder(Registry<R> registry, Identifier id) {
+			super(registry, id, Float.class, Codec.FLOAT);
+			this.packetCodec = AttachmentPacketCodec.FLOAT;
+		}
+
+		@Override
+		public FloatRegistryEntryAttachment<R> build() {
+			return this.register(new FloatRegistryEntryAttachmentImpl<>(this.registry, this.id, this.packetCodec, this.side,
+					this.defaultValue, this.defaultValueProvider));
+		}
+	}
+}
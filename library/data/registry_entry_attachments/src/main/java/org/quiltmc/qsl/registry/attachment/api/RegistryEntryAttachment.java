@@ -93,9 +93,10 @@ public interface RegistryEntryAttachment<R, V> {
 	 * @param id       attachment identifier
 	 * @param <R>      type of the entries in the registry
 	 * @return a builder
+	 * @see BooleanRegistryEntryAttachment#builder(Registry, Identifier)
 	 */
 	static <R> Builder<R, Boolean> boolBuilder(Registry<R> registry, Identifier id) {
-		return builder(registry, id, Boolean.class, Codec.BOOL);
+		return builder(registry, id, Boolean.class, Codec.BOOL).packetCodec(AttachmentPacketCodec.BOOL);
 	}
 
 	/**
@@ -105,9 +106,10 @@ public interface RegistryEntryAttachment<R, V> {
 	 * @param id       attachment identifier
 	 * @param <R>      type of the entries in the registry
 	 * @return a builder
+	 * @see IntRegistryEntryAttachment#builder(Registry, Identifier)
 	 */
 	static <R> Builder<R, Integer> intBuilder(Registry<R> registry, Identifier id) {
-		return builder(registry, id, Integer.class, Codec.INT);
+		return builder(registry, id, Integer.class, Codec.INT).packetCodec(AttachmentPacketCodec.INT);
 	}
 
 	/**
@@ -117,9 +119,10 @@ public interface RegistryEntryAttachment<R, V> {
 	 * @param id       attachment identifier
 	 * @param <R>      type of the entries in the registry
 	 * @return a builder
+	 * @see LongRegistryEntryAttachment#builder(Registry, Identifier)
 	 */
 	static <R> Builder<R, Long> longBuilder(Registry<R> registry, Identifier id) {
-		return builder(registry, id, Long.class, Codec.LONG);
+		return builder(registry, id, Long.class, Codec.LONG).packetCodec(AttachmentPacketCodec.LONG);
 	}
 
 	/**
@@ -129,9 +132,10 @@ public interface RegistryEntryAttachment<R, V> {
 	 * @param id       attachment identifier
 	 * @param <R>      type of the entries in the registry
 	 * @return a builder
+	 * @see FloatRegistryEntryAttachment#builder(Registry, Identifier)
 	 */
 	static <R> Builder<R, Float> floatBuilder(Registry<R> registry, Identifier id) {
-		return builder(registry, id, Float.class, Codec.FLOAT);
+		return builder(registry, id, Float.class, Codec.FLOAT).packetCodec(AttachmentPacketCodec.FLOAT);
 	}
 
 	/**
@@ -141,9 +145,10 @@ public interface RegistryEntryAttachment<R, V> {
 	 * @param id       attachment identifier
 	 * @param <R>      type of the entries in the registry
 	 * @return a builder
+	 * @see DoubleRegistryEntryAttachment#builder(Registry, Identifier)
 	 */
 	static <R> Builder<R, Double> doubleBuilder(Registry<R> registry, Identifier id) {
-		return builder(registry, id, Double.class, Codec.DOUBLE);
+		return builder(registry, id, Double.class, Codec.DOUBLE).packetCodec(AttachmentPacketCodec.DOUBLE);
 	}
 
 	/**
@@ -155,7 +160,7 @@ public interface RegistryEntryAttachment<R, V> {
 	 * @return a builder
 	 */
 	static <R> Builder<R, String> stringBuilder(Registry<R> registry, Identifier id) {
-		return builder(registry, id, String.class, Codec.STRING);
+		return builder(registry, id, String.class, Codec.STRING).packetCodec(AttachmentPacketCodec.STRING);
 	}
 
 	/**
@@ -186,6 +191,13 @@ public interface RegistryEntryAttachment<R, V> {
 	 */
 	Codec<V> codec();
 
+	/**
+	 * Gets the direct binary codec used to synchronize this attachment's values, if any.
+	 *
+	 * @return value packet codec, or {@code null} if values are synchronized using the {@linkplain #codec() codec}
+	 */
+	@Nullable AttachmentPacketCodec<V> packetCodec();
+
 	/**
 	 * Gets the side this attachment should exist on.
 	 *
@@ -245,22 +257,29 @@ public interface RegistryEntryAttachment<R, V> {
 	}
 
 	/**
-	 * Builder for attachments.
+	 * Base of the attachment builders, holding the options shared by every kind of attachment.
 	 *
 	 * @param <R> type of the entries in the registry
 	 * @param <V> attached value type
+	 * @param <B> type of the builder
+	 * @apiNote {@link Builder} used to declare its options itself, and now inherits them from this class.
+	 * Code using {@link Builder} compiles unchanged, and {@link Builder} redeclares the options it had
+	 * so that mods compiled against it keep linking.
+	 * New options are only declared here, and return the builder type {@code B}.
 	 */
-	final class Builder<R, V> {
-		private final Registry<R> registry;
-		private final Identifier id;
-		private final Class<V> valueClass;
-		private final Codec<V> codec;
-
-		private Side side;
-		private @Nullable V defaultValue;
-		private @Nullable DefaultValueProvider<R, V> defaultValueProvider;
-
-		private Builder(Registry<R> registry, Identifier id, Class<V> valueClass, Codec<V> codec) {
+	@ApiStatus.NonExtendable
+	abstract class AbstractBuilder<R, V, B extends AbstractBuilder<R, V, B>> {
+		final Registry<R> registry;
+		final Identifier id;
+		final Class<V> valueClass;
+		final Codec<V> codec;
+
+		Side side;
+		@Nullable V defaultValue;
+		@Nullable DefaultValueProvider<R, V> defaultValueProvider;
+		@Nullable AttachmentPacketCodec<V> packetCodec;
+
+		AbstractBuilder(Registry<R> registry, Identifier id, Class<V> valueClass, Codec<V> codec) {
 			this.registry = registry;
 			this.id = id;
 			this.valueClass = valueClass;
@@ -273,15 +292,20 @@ public interface RegistryEntryAttachment<R, V> {
 			}
 		}
 
+		@SuppressWarnings("unchecked")
+		private B self() {
+			return (B) this;
+		}
+
 		/**
 		 * Sets what side this attachment should exist on.
 		 *
 		 * @param side attachment side
 		 * @return this builder
 		 */
-		public Builder<R, V> side(Side side) {
+		public B side(Side side) {
 			this.side = side;
-			return this;
+			return this.self();
 		}
 
 		/**
@@ -293,10 +317,10 @@ public interface RegistryEntryAttachment<R, V> {
 		 * @param defaultValue default value
 		 * @return this builder
 		 */
-		public Builder<R, V> defaultValue(@Nullable V defaultValue) {
+		public B defaultValue(@Nullable V defaultValue) {
 			this.defaultValue = defaultValue;
 			this.defaultValueProvider = null;
-			return this;
+			return this.self();
 		}
 
 		/**
@@ -305,16 +329,34 @@ public interface RegistryEntryAttachment<R, V> {
 		 * <p>
 		 * Note that this will be computed on both sides and the computation result will <em>not</em> be synchronized.
 		 * <p>
+		 * The value of each entry is remembered once computed, and failed computations are remembered as missing values.
+		 * Computations never block: threads requesting the same entry at the same time may each compute it,
+		 * in which case the first stored result is used by all of them, so providers must be free of side effects.
+		 * A provider requesting the value of the entry it is computing gets a missing value.
+		 * <p>
 		 * Setting this will <b>remove</b> the currently set
 		 * {@linkplain #defaultValue(Object) default value}!
 		 *
 		 * @param defaultValueProvider function to compute otherwise-missing value
 		 * @return this builder
 		 */
-		public Builder<R, V> defaultValueProvider(@Nullable DefaultValueProvider<R, V> defaultValueProvider) {
+		public B defaultValueProvider(@Nullable DefaultValueProvider<R, V> defaultValueProvider) {
 			this.defaultValueProvider = defaultValueProvider;
 			this.defaultValue = null;
-			return this;
+			return this.self();
+		}
+
+		/**
+		 * Sets the direct binary codec used to synchronize the values of this attachment to clients.
+		 * <p>
+		 * Without one, values are synchronized by encoding them to NBT with the attachment's {@code Codec}.
+		 *
+		 * @param packetCodec value packet codec
+		 * @return this builder
+		 */
+		public B packetCodec(@Nullable AttachmentPacketCodec<V> packetCodec) {
+			this.packetCodec = packetCodec;
+			return this.self();
 		}
 
 		/**
@@ -322,17 +364,52 @@ public interface RegistryEntryAttachment<R, V> {
 		 *
 		 * @return new attachment
 		 */
+		public abstract RegistryEntryAttachment<R, V> build();
+
+		<A extends RegistryEntryAttachment<R, V>> A register(A attachment) {
+			RegistryEntryAttachmentHolder.registerAttachment(this.registry, attachment);
+			return attachment;
+		}
+	}
+
+	/**
+	 * Builder for attachments.
+	 *
+	 * @param <R> type of the entries in the registry
+	 * @param <V> attached value type
+	 */
+	final class Builder<R, V> extends AbstractBuilder<R, V, Builder<R, V>> {
+		private Builder(Registry<R> registry, Identifier id, Class<V> valueClass, Codec<V> codec) {
+			super(registry, id, valueClass, codec);
+		}
+
+		// The options below were declared by this class before AbstractBuilder existed,
+		// they are overridden to keep their original signatures for mods compiled against them.
+
+		@Override
+		public Builder<R, V> side(Side side) {
+			return super.side(side);
+		}
+
+		@Override
+		public Builder<R, V> defaultValue(@Nullable V defaultValue) {
+			return super.defaultValue(defaultValue);
+		}
+
+		@Override
+		public Builder<R, V> defaultValueProvider(@Nullable DefaultValueProvider<R, V> defaultValueProvider) {
+			return super.defaultValueProvider(defaultValueProvider);
+		}
+
+		@Override
 		public RegistryEntryAttachment<R, V> build() {
-			RegistryEntryAttachment<R, V> attachment;
 			if (this.defaultValueProvider == null) {
-				attachment = new ConstantDefaultRegistryEntryAttachmentImpl<>(this.registry, this.id, this.valueClass,
-						this.codec, this.side, this.defaultValue);
+				return this.register(new ConstantDefaultRegistryEntryAttachmentImpl<>(this.registry, this.id, this.valueClass,
+						this.codec, this.packetCodec, this.side, this.defaultValue));
 			} else {
-				attachment = new ComputedDefaultRegistryEntryAttachmentImpl<>(this.registry, this.id, this.valueClass,
-						this.codec, this.side, this.defaultValueProvider);
+				return this.register(new ComputedDefaultRegistryEntryAttachmentImpl<>(this.registry, this.id, this.valueClass,
+						this.codec, this.packetCodec, this.side, this.defaultValueProvider));
 			}
-			RegistryEntryAttachmentHolder.registerAttachment(this.registry, attachment);
-			return attachment;
 		}
 	}
 }
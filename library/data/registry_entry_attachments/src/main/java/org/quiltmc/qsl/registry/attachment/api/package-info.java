@@ -9,6 +9,10 @@
  * <p>
  * To retrieve an attachment's value, use {@link org.quiltmc.qsl.registry.attachment.api.RegistryEntryAttachment#getValue(java.lang.Object)}
  * to get the value assigned to the specified registry entry.
+ * <p>
+ * Attachments of primitive values, such as {@link org.quiltmc.qsl.registry.attachment.api.IntRegistryEntryAttachment IntRegistryEntryAttachment},
+ * store their values unboxed and can be read without allocating, using methods such as
+ * {@link org.quiltmc.qsl.registry.attachment.api.IntRegistryEntryAttachment#getInt(java.lang.Object, int)}.
  *
  * <p><h3>Vocabulary</h3>
  *
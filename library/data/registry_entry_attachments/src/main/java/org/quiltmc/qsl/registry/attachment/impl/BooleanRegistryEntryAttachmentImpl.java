@@ -0,0 +1,48 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.registry.attachment.impl;
+
+import com.mojang.serialization.Codec;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
+
+import org.quiltmc.qsl.registry.attachment.api.AttachmentPacketCodec;
+import org.quiltmc.qsl.registry.attachment.api.BooleanRegistryEntryAttachment;
+import org.quiltmc.qsl.registry.attachment.api.DefaultValueProvider;
+
+@ApiStatus.Internal
+public final class BooleanRegistryEntryAttachmentImpl<R> extends PrimitiveRegistryEntryAttachmentImpl<R, Boolean>
+		implements BooleanRegistryEntryAttachment<R> {
+	public BooleanRegistryEntryAttachmentImpl(Registry<R> registry, Identifier id, @Nullable AttachmentPacketCodec<Boolean> packetCodec,
+	                                          Side side, @Nullable Boolean defaultValue,
+	                                          @Nullable DefaultValueProvider<R, Boolean> defaultValueProvider) {
+		super(registry, id, Boolean.class, Codec.BOOL, packetCodec, side, defaultValue, defaultValueProvider);
+	}
+
+	@Override
+	protected long toBits(Boolean value) {
+		return value ? 1L : 0L;
+	}
+
+	@Override
+	public boolean getBoolean(R entry, boolean fallback) {
+		return this.getBits(entry, fallback ? 1L : 0L) != 0L;
+	}
+}
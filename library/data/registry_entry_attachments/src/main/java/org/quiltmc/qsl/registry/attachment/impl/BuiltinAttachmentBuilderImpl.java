@@ -36,6 +36,7 @@ public final class BuiltinAttachmentBuilderImpl<R> implements RegistryExtensions
 	@Override
 	public <V> RegistryExtensions.BuiltinAttachmentBuilder<R> put(RegistryEntryAttachment<R, V> attach, V value) {
 		this.holder.putValue(attach, this.item, value);
+		DenseAttachmentStorage.invalidate(attach);
 		return this;
 	}
 }
@@ -20,35 +20,31 @@ import java.util.Optional;
 
 import com.mojang.serialization.Codec;
 import org.jetbrains.annotations.NotNull;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.util.Identifier;
 import net.minecraft.util.registry.Registry;
 
+import org.quiltmc.qsl.registry.attachment.api.AttachmentPacketCodec;
 import org.quiltmc.qsl.registry.attachment.api.DefaultValueProvider;
 
 public final class ComputedDefaultRegistryEntryAttachmentImpl<R, V> extends RegistryEntryAttachmentImpl<R, V> {
-	private static final Logger COMPUTE_LOGGER = LoggerFactory.getLogger("RegistryEntryAttachment|Compute");
+	private final ComputedDefaultValues<R, V> computedDefaults;
 
-	private final @NotNull DefaultValueProvider<R, V> defaultValueProvider;
-
-	public ComputedDefaultRegistryEntryAttachmentImpl(Registry<R> registry, Identifier id, Class<V> valueClass, Codec<V> codec, Side side, @NotNull DefaultValueProvider<R, V> defaultValueProvider) {
-		super(registry, id, valueClass, codec, side);
-		this.defaultValueProvider = defaultValueProvider;
+	public ComputedDefaultRegistryEntryAttachmentImpl(Registry<R> registry, Identifier id, Class<V> valueClass, Codec<V> codec,
+	                                                  @Nullable AttachmentPacketCodec<V> packetCodec, Side side, @NotNull DefaultValueProvider<R, V> defaultValueProvider) {
+		super(registry, id, valueClass, codec, packetCodec, side);
+		this.computedDefaults = new ComputedDefaultValues<>(this, defaultValueProvider);
 	}
 
 	@Override
 	protected Optional<V> getDefaultValue(R entry) {
-		var result = this.defaultValueProvider.computeDefaultValue(entry);
-
-		if (result.hasFailed()) {
-			COMPUTE_LOGGER.error("Failed to compute value for entry {}: {}", this.registry.getId(entry), result.error());
-			return Optional.empty();
-		} else {
-			var value = result.get();
-			RegistryEntryAttachmentHolder.getBuiltin(this.registry).putValue(this, entry, value);
-			return Optional.of(value);
-		}
+		return this.computedDefaults.get(entry);
+	}
+
+	@Override
+	void rebuildDenseStorage() {
+		super.rebuildDenseStorage();
+		this.computedDefaults.onRebuild(this.getDenseStorage());
 	}
 }
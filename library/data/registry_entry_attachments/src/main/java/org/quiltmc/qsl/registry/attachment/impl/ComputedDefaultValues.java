@@ -0,0 +1,194 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.registry.attachment.impl;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.quiltmc.qsl.registry.attachment.api.DefaultValueProvider;
+
+/**
+ * The default values of an attachment computed by its {@link DefaultValueProvider}, memoized per entry.
+ * <p>
+ * Values are computed without holding any lock, so providers requesting each other's values cannot deadlock.
+ * Threads racing on the same entry may each compute it, and the first result stored is the one every thread uses.
+ *
+ * @param <R> type of the entries in the registry
+ * @param <V> attached value type
+ */
+@ApiStatus.Internal
+final class ComputedDefaultValues<R, V> {
+	private static final Logger COMPUTE_LOGGER = LoggerFactory.getLogger("RegistryEntryAttachment|Compute");
+	private static final String PRECOMPUTE_PROPERTY = "quilt.data.registry_entry_attachments.precompute_defaults";
+	private static final boolean PRECOMPUTE = Boolean.getBoolean(PRECOMPUTE_PROPERTY);
+	/**
+	 * The values being computed by the current thread, to detect providers requesting their own value.
+	 */
+	private static final ThreadLocal<Set<ComputedValue<?>>> COMPUTING = ThreadLocal.withInitial(HashSet::new);
+
+	private final RegistryEntryAttachmentImpl<R, V> attachment;
+	private final @NotNull DefaultValueProvider<R, V> defaultValueProvider;
+	/**
+	 * The computed default values, including failed computations which are memoized as empty values.
+	 */
+	private final Map<R, ComputedValue<V>> computedValues = new ConcurrentHashMap<>();
+	private final AtomicBoolean precomputed = new AtomicBoolean();
+
+	ComputedDefaultValues(RegistryEntryAttachmentImpl<R, V> attachment, @NotNull DefaultValueProvider<R, V> defaultValueProvider) {
+		this.attachment = attachment;
+		this.defaultValueProvider = defaultValueProvider;
+	}
+
+	/**
+	 * Gets the default value of the given entry, computing it if this is the first time it is requested.
+	 *
+	 * @param entry the registry entry
+	 * @return the default value, or empty if its computation failed
+	 */
+	Optional<V> get(R entry) {
+		ComputedValue<V> computedValue = this.computedValues.get(entry);
+
+		if (computedValue == null) {
+			computedValue = this.computedValues.computeIfAbsent(entry, e -> new ComputedValue<>());
+		}
+
+		Optional<V> value = computedValue.value.get();
+
+		if (value == null) {
+			value = this.compute(computedValue, entry);
+		}
+
+		return value;
+	}
+
+	private Optional<V> compute(ComputedValue<V> computedValue, R entry) {
+		Set<ComputedValue<?>> computing = COMPUTING.get();
+
+		if (!computing.add(computedValue)) {
+			COMPUTE_LOGGER.error("Recursive computation of attachment {} for entry {}",
+					this.attachment.id, this.attachment.registry.getId(entry));
+			return Optional.empty();
+		}
+
+		Optional<V> value;
+
+		try {
+			value = this.computeValue(entry);
+		} finally {
+			computing.remove(computedValue);
+		}
+
+		if (!computedValue.value.compareAndSet(null, value)) {
+			// Another thread computed the value first
+			return computedValue.value.get();
+		}
+
+		if (value.isPresent()) {
+			DenseAttachmentStorage<R, V> storage = this.attachment.getDenseStorage();
+
+			if (storage != null) {
+				storage.putComputed(entry, value);
+			}
+		}
+
+		return value;
+	}
+
+	private Optional<V> computeValue(R entry) {
+		DefaultValueProvider.Result<V> result;
+
+		try {
+			result = this.defaultValueProvider.computeDefaultValue(entry);
+		} catch (RuntimeException e) {
+			COMPUTE_LOGGER.error("Failed to compute value of attachment {} for entry {}",
+					this.attachment.id, this.attachment.registry.getId(entry), e);
+			return Optional.empty();
+		}
+
+		if (result.hasFailed()) {
+			COMPUTE_LOGGER.error("Failed to compute value of attachment {} for entry {}: {}",
+					this.attachment.id, this.attachment.registry.getId(entry), result.error());
+			return Optional.empty();
+		}
+
+		return Optional.of(result.get());
+	}
+
+	/**
+	 * Fills the freshly rebuilt flattened values of the attachment with the values computed so far.
+	 *
+	 * @param storage the flattened values
+	 */
+	void onRebuild(DenseAttachmentStorage<R, V> storage) {
+		// Values computed before the reload stay valid, as they only depend on the entry.
+		this.computedValues.forEach((entry, computedValue) -> {
+			Optional<V> value = computedValue.value.get();
+
+			if (value != null && value.isPresent()) {
+				storage.putComputed(entry, value);
+			}
+		});
+
+		if (PRECOMPUTE && this.precomputed.compareAndSet(false, true)) {
+			CompletableFuture.runAsync(() -> this.precompute(storage)).exceptionally(throwable -> {
+				COMPUTE_LOGGER.error("Failed to precompute values of attachment {}", this.attachment.id, throwable);
+				return null;
+			});
+		}
+	}
+
+	/**
+	 * Computes in parallel the default values of every entry which doesn't have an explicit value.
+	 *
+	 * @param storage the flattened values
+	 */
+	private void precompute(DenseAttachmentStorage<R, V> storage) {
+		IntStream.range(0, storage.size()).parallel().forEach(rawId -> {
+			// Stop once a reload replaced the storage, the remaining values are computed on demand.
+			if (this.attachment.getDenseStorage() != storage) {
+				return;
+			}
+
+			R entry = storage.getEntryAt(rawId);
+
+			if (entry != null && storage.getAt(rawId) == null) {
+				this.get(entry);
+			}
+		});
+	}
+
+	/**
+	 * Holds the default value of an entry, which is {@code null} until it has been computed.
+	 *
+	 * @param <V> attached value type
+	 */
+	private static final class ComputedValue<V> {
+		private final AtomicReference<Optional<V>> value = new AtomicReference<>();
+	}
+}
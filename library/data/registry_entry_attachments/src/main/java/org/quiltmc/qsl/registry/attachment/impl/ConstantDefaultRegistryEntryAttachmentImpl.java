@@ -19,21 +19,30 @@ package org.quiltmc.qsl.registry.attachment.impl;
 import java.util.Optional;
 
 import com.mojang.serialization.Codec;
+import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.util.Identifier;
 import net.minecraft.util.registry.Registry;
 
+import org.quiltmc.qsl.registry.attachment.api.AttachmentPacketCodec;
+
 public final class ConstantDefaultRegistryEntryAttachmentImpl<R, V> extends RegistryEntryAttachmentImpl<R, V> {
-	private final V defaultValue;
+	private final Optional<V> defaultValue;
 
-	public ConstantDefaultRegistryEntryAttachmentImpl(Registry<R> registry, Identifier id, Class<V> valueClass, Codec<V> codec, Side side,
+	public ConstantDefaultRegistryEntryAttachmentImpl(Registry<R> registry, Identifier id, Class<V> valueClass, Codec<V> codec,
+	                                                  @Nullable AttachmentPacketCodec<V> packetCodec, Side side,
 	                                                  V defaultValue) {
-		super(registry, id, valueClass, codec, side);
-		this.defaultValue = defaultValue;
+		super(registry, id, valueClass, codec, packetCodec, side);
+		this.defaultValue = Optional.ofNullable(defaultValue);
 	}
 
 	@Override
 	protected Optional<V> getDefaultValue(R entry) {
-		return Optional.ofNullable(this.defaultValue);
+		return this.defaultValue;
+	}
+
+	@Override
+	protected Optional<V> getConstantDefaultValue() {
+		return this.defaultValue;
 	}
 }
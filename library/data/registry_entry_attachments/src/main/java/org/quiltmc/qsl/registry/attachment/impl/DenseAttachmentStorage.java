@@ -0,0 +1,200 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.registry.attachment.impl;
+
+import java.util.Optional;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.util.registry.Registry;
+
+import org.quiltmc.qsl.registry.attachment.api.RegistryEntryAttachment;
+
+/**
+ * A flattened view of the values of an attachment, indexed by the raw identifiers of the registry entries.
+ * <p>
+ * The assets, data and builtin holders are merged once their values have been applied, so that looking up a value
+ * doesn't have to go through the table of each holder nor allocate an {@link Optional}.
+ * Entries whose raw identifier doesn't match the one they had when the storage was built fall back to the holders.
+ *
+ * @param <R> type of the entries in the registry
+ * @param <V> attached value type
+ */
+@ApiStatus.Internal
+public final class DenseAttachmentStorage<R, V> {
+	public static final String DISABLE_PROPERTY = "quilt.data.registry_entry_attachments.disable_dense_storage";
+	private static final boolean DISABLED = Boolean.getBoolean(DISABLE_PROPERTY);
+
+	private final Registry<R> registry;
+	private final Object[] entries;
+	private final Optional<V>[] values;
+
+	private DenseAttachmentStorage(Registry<R> registry, Object[] entries, Optional<V>[] values) {
+		this.registry = registry;
+		this.entries = entries;
+		this.values = values;
+	}
+
+	/**
+	 * Gets the value of the given entry.
+	 *
+	 * @param entry the registry entry
+	 * @return the value, or {@code null} if it has to be looked up in the holders
+	 */
+	public @Nullable Optional<V> get(R entry) {
+		int rawId = this.indexOf(entry);
+		return rawId == -1 ? null : this.values[rawId];
+	}
+
+	/**
+	 * Stores a default value computed after this storage was built.
+	 * <p>
+	 * The value is only stored if the entry has no value in this storage yet,
+	 * so that a computation which finishes after a reload never replaces an explicit value of the new storage.
+	 *
+	 * @param entry the registry entry
+	 * @param value the computed value
+	 */
+	void putComputed(R entry, Optional<V> value) {
+		int rawId = this.indexOf(entry);
+
+		if (rawId != -1 && this.values[rawId] == null) {
+			this.values[rawId] = value;
+		}
+	}
+
+	/**
+	 * {@return the size of this storage, which is the highest raw identifier of the registry plus one}
+	 */
+	int size() {
+		return this.values.length;
+	}
+
+	/**
+	 * Gets the value at the given raw identifier.
+	 *
+	 * @param rawId the raw identifier
+	 * @return the value, or {@code null} if it has to be looked up in the holders or computed
+	 */
+	@Nullable Optional<V> getAt(int rawId) {
+		return this.values[rawId];
+	}
+
+	/**
+	 * Gets the entry at the given raw identifier.
+	 *
+	 * @param rawId the raw identifier
+	 * @return the entry, or {@code null} if the registry has no entry with this raw identifier
+	 */
+	@SuppressWarnings("unchecked")
+	@Nullable R getEntryAt(int rawId) {
+		return (R) this.entries[rawId];
+	}
+
+	/**
+	 * Gets the index of the given entry in this storage.
+	 *
+	 * @param entry the registry entry
+	 * @return the index, or {@code -1} if the entry isn't part of this storage
+	 */
+	int indexOf(R entry) {
+		int rawId = this.registry.getRawId(entry);
+
+		// Raw identifiers may be remapped by registry synchronization, so the entry itself is checked too.
+		if (rawId < 0 || rawId >= this.entries.length || this.entries[rawId] != entry) {
+			return -1;
+		}
+
+		return rawId;
+	}
+
+	@SuppressWarnings("unchecked")
+	static <R, V> DenseAttachmentStorage<R, V> build(RegistryEntryAttachmentImpl<R, V> attachment) {
+		Registry<R> registry = attachment.registry();
+		int size = 0;
+
+		for (R entry : registry) {
+			size = Math.max(size, registry.getRawId(entry) + 1);
+		}
+
+		var entries = new Object[size];
+		var values = (Optional<V>[]) new Optional[size];
+		Optional<V> constantDefault = attachment.getConstantDefaultValue();
+
+		for (R entry : registry) {
+			int rawId = registry.getRawId(entry);
+			V value = attachment.getHolderValue(entry);
+
+			entries[rawId] = entry;
+			values[rawId] = value != null ? Optional.of(value) : constantDefault;
+		}
+
+		return new DenseAttachmentStorage<>(registry, entries, values);
+	}
+
+	/**
+	 * Rebuilds the dense storage of every attachment.
+	 */
+	public static void rebuildAll() {
+		for (Registry<?> registry : Registry.REGISTRIES) {
+			rebuild(registry);
+		}
+	}
+
+	/**
+	 * Rebuilds the dense storage of every attachment of the given registry.
+	 *
+	 * @param registry the registry
+	 * @param <R>      type of the entries in the registry
+	 */
+	public static <R> void rebuild(Registry<R> registry) {
+		for (var entry : RegistryEntryAttachmentHolder.getAttachmentEntries(registry)) {
+			rebuild(entry.getValue());
+		}
+	}
+
+	/**
+	 * Rebuilds the dense storage of the given attachment, once the values of its holders have been applied.
+	 *
+	 * @param attachment the attachment
+	 * @param <R>        type of the entries in the registry
+	 * @param <V>        attached value type
+	 */
+	public static <R, V> void rebuild(RegistryEntryAttachment<R, V> attachment) {
+		if (DISABLED || !(attachment instanceof RegistryEntryAttachmentImpl<R, V> impl)) {
+			return;
+		}
+
+		if (impl.side() == RegistryEntryAttachment.Side.CLIENT && !AssetsHolderGuard.isAccessAllowed()) {
+			return;
+		}
+
+		impl.rebuildDenseStorage();
+	}
+
+	/**
+	 * Discards the dense storage of the given attachment, as the values of its holders are being modified.
+	 *
+	 * @param attachment the attachment
+	 */
+	public static void invalidate(RegistryEntryAttachment<?, ?> attachment) {
+		if (attachment instanceof RegistryEntryAttachmentImpl<?, ?> impl) {
+			impl.invalidateDenseStorage();
+		}
+	}
+}
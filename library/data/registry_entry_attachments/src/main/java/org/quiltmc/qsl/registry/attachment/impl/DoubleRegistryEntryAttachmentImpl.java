@@ -0,0 +1,48 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.registry.attachment.impl;
+
+import com.mojang.serialization.Codec;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
+
+import org.quiltmc.qsl.registry.attachment.api.AttachmentPacketCodec;
+import org.quiltmc.qsl.registry.attachment.api.DefaultValueProvider;
+import org.quiltmc.qsl.registry.attachment.api.DoubleRegistryEntryAttachment;
+
+@ApiStatus.Internal
+public final class DoubleRegistryEntryAttachmentImpl<R> extends PrimitiveRegistryEntryAttachmentImpl<R, Double>
+		implements DoubleRegistryEntryAttachment<R> {
+	public DoubleRegistryEntryAttachmentImpl(Registry<R> registry, Identifier id, @Nullable AttachmentPacketCodec<Double> packetCodec,
+	                                         Side side, @Nullable Double defaultValue,
+	                                         @Nullable DefaultValueProvider<R, Double> defaultValueProvider) {
+		super(registry, id, Double.class, Codec.DOUBLE, packetCodec, side, defaultValue, defaultValueProvider);
+	}
+
+	@Override
+	protected long toBits(Double value) {
+		return Double.doubleToRawLongBits(value);
+	}
+
+	@Override
+	public double getDouble(R entry, double fallback) {
+		return Double.longBitsToDouble(this.getBits(entry, Double.doubleToRawLongBits(fallback)));
+	}
+}
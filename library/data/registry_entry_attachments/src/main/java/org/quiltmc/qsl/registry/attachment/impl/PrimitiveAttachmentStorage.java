@@ -0,0 +1,72 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.registry.attachment.impl;
+
+import java.util.Optional;
+import java.util.function.ToLongFunction;
+
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * An unboxed copy of a {@link DenseAttachmentStorage}, holding the raw bits of the primitive values.
+ *
+ * @param <R> type of the entries in the registry
+ */
+@ApiStatus.Internal
+final class PrimitiveAttachmentStorage<R> {
+	private final DenseAttachmentStorage<R, ?> dense;
+	private final long[] values;
+	/**
+	 * A bit set of the indices which have a value.
+	 */
+	private final long[] present;
+
+	private PrimitiveAttachmentStorage(DenseAttachmentStorage<R, ?> dense, long[] values, long[] present) {
+		this.dense = dense;
+		this.values = values;
+		this.present = present;
+	}
+
+	static <R, V> PrimitiveAttachmentStorage<R> build(DenseAttachmentStorage<R, V> dense, ToLongFunction<V> toBits) {
+		int size = dense.size();
+		var values = new long[size];
+		var present = new long[(size + 63) >>> 6];
+
+		for (int i = 0; i < size; i++) {
+			Optional<V> value = dense.getAt(i);
+
+			if (value != null && value.isPresent()) {
+				values[i] = toBits.applyAsLong(value.get());
+				present[i >>> 6] |= 1L << i;
+			}
+		}
+
+		return new PrimitiveAttachmentStorage<>(dense, values, present);
+	}
+
+	int indexOf(R entry) {
+		return this.dense.indexOf(entry);
+	}
+
+	boolean has(int index) {
+		return (this.present[index >>> 6] & (1L << index)) != 0;
+	}
+
+	long get(int index) {
+		return this.values[index];
+	}
+}
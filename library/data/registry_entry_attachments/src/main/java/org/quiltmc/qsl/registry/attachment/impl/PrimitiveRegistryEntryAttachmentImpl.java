@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.registry.attachment.impl;
+
+import java.util.Optional;
+
+import com.mojang.serialization.Codec;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
+
+import org.quiltmc.qsl.registry.attachment.api.AttachmentPacketCodec;
+import org.quiltmc.qsl.registry.attachment.api.DefaultValueProvider;
+
+/**
+ * Base implementation of attachments of primitive values, which keep their flattened values unboxed.
+ *
+ * @param <R> type of the entries in the registry
+ * @param <V> boxed attached value type
+ */
+@ApiStatus.Internal
+public abstract class PrimitiveRegistryEntryAttachmentImpl<R, V> extends RegistryEntryAttachmentImpl<R, V> {
+	private final Optional<V> defaultValue;
+	private final @Nullable ComputedDefaultValues<R, V> computedDefaults;
+	private volatile @Nullable PrimitiveAttachmentStorage<R> primitiveStorage;
+
+	protected PrimitiveRegistryEntryAttachmentImpl(Registry<R> registry, Identifier id, Class<V> valueClass, Codec<V> codec,
+	                                               @Nullable AttachmentPacketCodec<V> packetCodec, Side side, @Nullable V defaultValue,
+	                                               @Nullable DefaultValueProvider<R, V> defaultValueProvider) {
+		super(registry, id, valueClass, codec, packetCodec, side);
+		this.defaultValue = Optional.ofNullable(defaultValue);
+		this.computedDefaults = defaultValueProvider == null ? null : new ComputedDefaultValues<>(this, defaultValueProvider);
+	}
+
+	/**
+	 * Converts the given value to its raw bits, as stored in the flattened values.
+	 *
+	 * @param value the value
+	 * @return the raw bits of the value
+	 */
+	protected abstract long toBits(V value);
+
+	@Override
+	protected Optional<V> getDefaultValue(R entry) {
+		return this.computedDefaults == null ? this.defaultValue : this.computedDefaults.get(entry);
+	}
+
+	@Override
+	protected @Nullable Optional<V> getConstantDefaultValue() {
+		return this.computedDefaults == null ? this.defaultValue : null;
+	}
+
+	@Override
+	void rebuildDenseStorage() {
+		super.rebuildDenseStorage();
+
+		if (this.computedDefaults != null) {
+			this.computedDefaults.onRebuild(this.getDenseStorage());
+		}
+
+		this.primitiveStorage = PrimitiveAttachmentStorage.build(this.getDenseStorage(), this::toBits);
+	}
+
+	@Override
+	void invalidateDenseStorage() {
+		super.invalidateDenseStorage();
+		this.primitiveStorage = null;
+	}
+
+	/**
+	 * Gets the raw bits of the value of the given entry.
+	 *
+	 * @param entry    the registry entry
+	 * @param fallback the raw bits to return if no value is assigned
+	 * @return the raw bits of the value, or {@code fallback} if no value is assigned
+	 */
+	protected long getBits(R entry, long fallback) {
+		PrimitiveAttachmentStorage<R> storage = this.primitiveStorage;
+
+		if (storage != null) {
+			int index = storage.indexOf(entry);
+
+			if (index != -1) {
+				if (storage.has(index)) {
+					return storage.get(index);
+				} else if (this.computedDefaults == null) {
+					return fallback;
+				}
+
+				// Computed default values are only flattened once computed, they are looked up the generic way.
+			}
+		}
+
+		Optional<V> value = this.getValue(entry);
+		return value.isPresent() ? this.toBits(value.get()) : fallback;
+	}
+}
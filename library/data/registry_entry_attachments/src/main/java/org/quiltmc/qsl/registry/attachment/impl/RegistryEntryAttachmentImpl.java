@@ -21,10 +21,12 @@ import java.util.Optional;
 
 import com.mojang.serialization.Codec;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.util.Identifier;
 import net.minecraft.util.registry.Registry;
 
+import org.quiltmc.qsl.registry.attachment.api.AttachmentPacketCodec;
 import org.quiltmc.qsl.registry.attachment.api.RegistryEntryAttachment;
 
 @ApiStatus.Internal
@@ -33,17 +35,21 @@ public abstract class RegistryEntryAttachmentImpl<R, V> implements RegistryEntry
 	protected final Identifier id;
 	protected final Class<V> valueClass;
 	protected final Codec<V> codec;
+	protected final @Nullable AttachmentPacketCodec<V> packetCodec;
 	protected final Side side;
+	private volatile @Nullable DenseAttachmentStorage<R, V> denseStorage;
 
 	public RegistryEntryAttachmentImpl(Registry<R> registry,
 	                                   Identifier id,
 	                                   Class<V> valueClass,
 	                                   Codec<V> codec,
+	                                   @Nullable AttachmentPacketCodec<V> packetCodec,
 	                                   Side side) {
 		this.registry = registry;
 		this.id = id;
 		this.valueClass = valueClass;
 		this.codec = codec;
+		this.packetCodec = packetCodec;
 		this.side = side;
 	}
 
@@ -67,6 +73,11 @@ public abstract class RegistryEntryAttachmentImpl<R, V> implements RegistryEntry
 		return this.codec;
 	}
 
+	@Override
+	public @Nullable AttachmentPacketCodec<V> packetCodec() {
+		return this.packetCodec;
+	}
+
 	@Override
 	public Side side() {
 		return this.side;
@@ -74,28 +85,73 @@ public abstract class RegistryEntryAttachmentImpl<R, V> implements RegistryEntry
 
 	protected abstract Optional<V> getDefaultValue(R entry);
 
+	/**
+	 * {@return the default value shared by all entries, or {@code null} if default values are computed per entry}
+	 */
+	protected @Nullable Optional<V> getConstantDefaultValue() {
+		return null;
+	}
+
+	protected @Nullable DenseAttachmentStorage<R, V> getDenseStorage() {
+		return this.denseStorage;
+	}
+
+	/**
+	 * Flattens the values of the holders, once they have been applied.
+	 */
+	void rebuildDenseStorage() {
+		this.denseStorage = DenseAttachmentStorage.build(this);
+	}
+
+	/**
+	 * Discards the flattened values, as the values of the holders are being modified.
+	 */
+	void invalidateDenseStorage() {
+		this.denseStorage = null;
+	}
+
 	@Override
 	public Optional<V> getValue(R entry) {
+		DenseAttachmentStorage<R, V> storage = this.denseStorage;
+
+		if (storage != null) {
+			Optional<V> value = storage.get(entry);
+
+			if (value != null) {
+				return value;
+			}
+		}
+
+		V value = this.getHolderValue(entry);
+		if (value != null) {
+			return Optional.of(value);
+		}
+
+		return this.getDefaultValue(entry);
+	}
+
+	/**
+	 * Looks up the value of the given entry in the assets, data and builtin holders, in that order.
+	 *
+	 * @param entry the registry entry
+	 * @return the value, or {@code null} if none of the holders has a value for this entry
+	 */
+	@Nullable V getHolderValue(R entry) {
 		V value;
 		if (this.side == Side.CLIENT) {
 			AssetsHolderGuard.assertAccessAllowed();
 			value = RegistryEntryAttachmentHolder.getAssets(this.registry).getValue(this, entry);
 			if (value != null) {
-				return Optional.of(value);
+				return value;
 			}
 		}
 
 		value = RegistryEntryAttachmentHolder.getData(this.registry).getValue(this, entry);
 		if (value != null) {
-			return Optional.of(value);
+			return value;
 		}
 
-		value = RegistryEntryAttachmentHolder.getBuiltin(this.registry).getValue(this, entry);
-		if (value != null) {
-			return Optional.of(value);
-		}
-
-		return this.getDefaultValue(entry);
+		return RegistryEntryAttachmentHolder.getBuiltin(this.registry).getValue(this, entry);
 	}
 
 	@Override
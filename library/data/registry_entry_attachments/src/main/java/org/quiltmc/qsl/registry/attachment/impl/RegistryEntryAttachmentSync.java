@@ -19,75 +19,353 @@ package org.quiltmc.qsl.registry.attachment.impl;
 import static org.quiltmc.qsl.registry.attachment.impl.Initializer.id;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
-import com.google.common.collect.Table;
-import com.google.common.collect.Tables;
-import it.unimi.dsi.fastutil.objects.Object2ReferenceOpenHashMap;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import it.unimi.dsi.fastutil.ints.Int2ObjectRBTreeMap;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.network.ClientPlayNetworkHandler;
 import net.minecraft.nbt.NbtCompound;
-import net.minecraft.nbt.NbtElement;
 import net.minecraft.nbt.NbtOps;
+import net.minecraft.network.ClientConnection;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayNetworkHandler;
 import net.minecraft.util.Identifier;
-import net.minecraft.util.Pair;
 import net.minecraft.util.registry.Registry;
 
 import org.quiltmc.qsl.networking.api.PacketByteBufs;
 import org.quiltmc.qsl.networking.api.PacketSender;
+import org.quiltmc.qsl.networking.api.ServerLoginConnectionEvents;
+import org.quiltmc.qsl.networking.api.ServerLoginNetworking;
 import org.quiltmc.qsl.networking.api.ServerPlayConnectionEvents;
 import org.quiltmc.qsl.networking.api.ServerPlayNetworking;
+import org.quiltmc.qsl.networking.api.client.ClientLoginNetworking;
 import org.quiltmc.qsl.networking.api.client.ClientPlayNetworking;
 import org.quiltmc.qsl.registry.attachment.api.RegistryEntryAttachment;
 
+/**
+ * Synchronizes the data-driven values of {@link RegistryEntryAttachment.Side#BOTH BOTH}-sided attachments to clients.
+ * <p>
+ * The sync packets are encoded once per reload and the resulting buffers are shared between all players.
+ * A transfer starts with a {@linkplain #BEGIN_PACKET_ID begin packet} holding the content hash of the packets and their count,
+ * which the client remembers once it has applied all of them.
+ * During login, the server {@linkplain #HASH_QUERY_ID queries} the hash the client holds
+ * and skips the transfer entirely if it matches its own.
+ * <p>
+ * Each attachment is sent in its own packet. Entries are keyed by their raw IDs, delta-encoded as var ints,
+ * if the client reported during login that the registry has the same {@linkplain #computeRegistryFingerprint(Registry) fingerprint}
+ * on its side, and by their identifiers otherwise.
+ * Values are written with the attachment's {@linkplain RegistryEntryAttachment#packetCodec() packet codec} if it has one,
+ * and as NBT encoded by its {@code Codec} otherwise.
+ * The client decodes the packets on netty's event loops and only applies the decoded values on the client thread.
+ * <p>
+ * Local connections are never synced, as the integrated server and its client share the same attachment holders.
+ */
 @ApiStatus.Internal
 public final class RegistryEntryAttachmentSync {
 	private RegistryEntryAttachmentSync() {
 	}
 
-	public static final Identifier PACKET_ID = id("sync");
+	/**
+	 * The channel of the sync packets, versioned along their format so that clients expecting an older format
+	 * never receive packets they would misread.
+	 */
+	public static final Identifier PACKET_ID = id("sync_v2");
+	public static final Identifier BEGIN_PACKET_ID = id("sync_begin");
+	public static final Identifier HASH_QUERY_ID = id("sync_hash");
+
+	/**
+	 * The key of the value in the compound wrapping values encoded to NBT, as only compounds can be written directly.
+	 */
+	private static final String NBT_VALUE_KEY = "value";
+
+	// Server-side state, only accessed on the server thread
+	private static @Nullable List<EncodedAttachment> encodedAttachments;
+	private static long encodedAttachmentsHash;
+	private static final Set<ClientConnection> UP_TO_DATE_CONNECTIONS = Collections.newSetFromMap(new WeakHashMap<>());
+	/**
+	 * The registries of each connection whose raw IDs match between the server and the client.
+	 */
+	private static final Map<ClientConnection, Set<Identifier>> RAW_ID_REGISTRIES = new WeakHashMap<>();
+
+	// Client-side state, only accessed on the client thread except for the reset
+	private static volatile boolean hasSyncedHash;
+	private static long syncedHash;
+	private static long pendingHash;
+	private static int pendingPackets;
 
-	public record CacheEntry(Identifier registryId,
-	                         Set<Pair<String, NbtCompound>> valueMaps) {
-	}
+	public static void register() {
+		ServerLoginConnectionEvents.QUERY_START.register((handler, server, sender, synchronizer) -> {
+			if (!handler.connection.isLocal()) {
+				sender.sendPacket(HASH_QUERY_ID, PacketByteBufs.empty());
+			}
+		});
+		ServerLoginNetworking.registerGlobalReceiver(HASH_QUERY_ID, (server, handler, understood, buf, synchronizer, responseSender) -> {
+			if (!understood) {
+				return;
+			}
 
-	public static final Map<Identifier, CacheEntry> ENCODED_VALUES_CACHE = new Object2ReferenceOpenHashMap<>();
+			boolean hasClientHash = buf.readBoolean();
+			long clientHash = hasClientHash ? buf.readLong() : 0;
+			Map<Identifier, Long> clientFingerprints = buf.readMap(size -> new HashMap<>(),
+					PacketByteBuf::readIdentifier, PacketByteBuf::readLong);
+			var connection = handler.connection;
 
-	public static void register() {
+			synchronizer.waitFor(server.submit(() -> {
+				var rawIdRegistries = new HashSet<Identifier>();
+
+				// Compared against the fingerprints the packets were encoded with, which the client checks again
+				for (var attachment : getEncodedAttachments()) {
+					Long fingerprint = clientFingerprints.get(attachment.registryId());
+
+					if (fingerprint != null && fingerprint == attachment.registryFingerprint) {
+						rawIdRegistries.add(attachment.registryId());
+					}
+				}
+
+				RAW_ID_REGISTRIES.put(connection, rawIdRegistries);
+
+				if (hasClientHash && clientHash == encodedAttachmentsHash) {
+					UP_TO_DATE_CONNECTIONS.add(connection);
+				}
+			}));
+		});
 		ServerPlayConnectionEvents.JOIN.register(RegistryEntryAttachmentSync::syncAttachmentsToPlayer);
 	}
 
 	@Environment(EnvType.CLIENT)
 	public static void registerClient() {
-		ClientPlayNetworking.registerGlobalReceiver(PACKET_ID, RegistryEntryAttachmentSync::receiveSyncPacket);
+		ClientLoginNetworking.registerGlobalReceiver(HASH_QUERY_ID, (client, handler, buf, listenerAdder) -> client.submit(() -> {
+			var responseBuf = PacketByteBufs.create();
+			responseBuf.writeBoolean(hasSyncedHash);
+
+			if (hasSyncedHash) {
+				responseBuf.writeLong(syncedHash);
+			}
+
+			var fingerprints = new HashMap<Identifier, Long>();
+
+			for (var registryEntry : Registry.REGISTRIES.getEntries()) {
+				var registry = registryEntry.getValue();
+
+				for (var attachmentEntry : RegistryEntryAttachmentHolder.getAttachmentEntries(registry)) {
+					if (attachmentEntry.getValue().side() == RegistryEntryAttachment.Side.BOTH) {
+						fingerprints.put(registryEntry.getKey().getValue(), computeRegistryFingerprint(registry));
+						break;
+					}
+				}
+			}
+
+			responseBuf.writeMap(fingerprints, PacketByteBuf::writeIdentifier, PacketByteBuf::writeLong);
+			return responseBuf;
+		}));
+		ClientPlayNetworking.registerGlobalReceiver(BEGIN_PACKET_ID, RegistryEntryAttachmentSync::receiveBeginPacket);
+		ClientPlayNetworking.registerGlobalReceiver(PACKET_ID, RegistryEntryAttachmentSync::decodeSyncPacket,
+				RegistryEntryAttachmentSync::receiveSyncPacket);
 	}
 
-	public static List<PacketByteBuf> createSyncPackets() {
-		fillEncodedValuesCache();
-		var bufs = new ArrayList<PacketByteBuf>();
+	/**
+	 * Computes the fingerprint of the given registry, which is a hash of the identifiers of its entries along with their raw IDs.
+	 * <p>
+	 * Two registries with the same fingerprint agree on the raw IDs of their entries.
+	 * <p>
+	 * The fingerprint is not cached, as registry synchronization may remap raw IDs without changing the size of the registry.
+	 * It is computed once per registry for each reload on the server, and for each login and sync packet on the client.
+	 *
+	 * @param registry the registry
+	 * @return the fingerprint
+	 */
+	static <R> long computeRegistryFingerprint(Registry<R> registry) {
+		Hasher hasher = Hashing.murmur3_128().newHasher();
+
+		for (R entry : registry) {
+			hasher.putInt(registry.getRawId(entry));
+			hasher.putUnencodedChars(String.valueOf(registry.getId(entry)));
+		}
 
-		for (var entry : ENCODED_VALUES_CACHE.entrySet()) {
-			for (var valueMap : entry.getValue().valueMaps()) {
-				var buf = PacketByteBufs.create();
-				buf.writeIdentifier(entry.getValue().registryId());
-				buf.writeIdentifier(entry.getKey());
-				buf.writeString(valueMap.getLeft());
-				buf.writeNbt(valueMap.getRight());
-				bufs.add(buf);
+		return hasher.hash().asLong();
+	}
+
+	/**
+	 * The sync packets of an attachment, shared between all players.
+	 * <p>
+	 * The buffers are read-only and must only be sent as {@linkplain PacketByteBufs#retainedDuplicate retained duplicates}.
+	 */
+	private static final class EncodedAttachment {
+		private final RegistryEntryAttachment<?, ?> attachment;
+		private final long registryFingerprint;
+		private final PacketByteBuf byRawId;
+		private @Nullable PacketByteBuf byIdentifier;
+
+		private EncodedAttachment(RegistryEntryAttachment<?, ?> attachment, long registryFingerprint, PacketByteBuf byRawId) {
+			this.attachment = attachment;
+			this.registryFingerprint = registryFingerprint;
+			this.byRawId = byRawId;
+		}
+
+		private Identifier registryId() {
+			return this.attachment.registry().getKey().getValue();
+		}
+
+		private PacketByteBuf get(boolean rawIdKeys) {
+			if (rawIdKeys) {
+				return this.byRawId;
+			}
+
+			// Only encoded when a client needs it, which should be rare
+			if (this.byIdentifier == null) {
+				this.byIdentifier = new PacketByteBuf(encodeAttachment(this.attachment, false, 0).asReadOnly());
 			}
+
+			return this.byIdentifier;
 		}
 
-		return bufs;
+		private void release() {
+			this.byRawId.release();
+
+			if (this.byIdentifier != null) {
+				this.byIdentifier.release();
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<EncodedAttachment> getEncodedAttachments() {
+		if (encodedAttachments == null) {
+			var attachments = new ArrayList<EncodedAttachment>();
+			long hash = 0;
+
+			for (var registryEntry : Registry.REGISTRIES.getEntries()) {
+				var registry = (Registry<Object>) registryEntry.getValue();
+				Long fingerprint = null;
+
+				for (var attachmentEntry : RegistryEntryAttachmentHolder.getAttachmentEntries(registry)) {
+					var attachment = attachmentEntry.getValue();
+					if (attachment.side() != RegistryEntryAttachment.Side.BOTH || !hasValues(attachment)) {
+						continue;
+					}
+
+					if (fingerprint == null) {
+						fingerprint = computeRegistryFingerprint(registry);
+					}
+
+					var buf = encodeAttachment(attachment, true, fingerprint);
+					// Summed up so the hash does not depend on the iteration order of the attachments
+					hash += Hashing.murmur3_128().hashBytes(buf.nioBuffer()).asLong();
+					attachments.add(new EncodedAttachment(attachment, fingerprint, new PacketByteBuf(buf.asReadOnly())));
+				}
+			}
+
+			encodedAttachments = Collections.unmodifiableList(attachments);
+			encodedAttachmentsHash = hash;
+		}
+
+		return encodedAttachments;
+	}
+
+	private static <R> boolean hasValues(RegistryEntryAttachment<R, ?> attachment) {
+		Map<R, Object> entryValues = RegistryEntryAttachmentHolder.getData(attachment.registry()).valueTable.rowMap().get(attachment);
+		return entryValues != null && !entryValues.isEmpty();
+	}
+
+	private static <R, V> PacketByteBuf encodeAttachment(RegistryEntryAttachment<R, V> attachment, boolean rawIdKeys,
+	                                                     long registryFingerprint) {
+		var registry = attachment.registry();
+		Map<R, Object> entryValues = RegistryEntryAttachmentHolder.getData(registry).valueTable.rowMap()
+				.getOrDefault(attachment, Map.of());
+
+		// Sorted by raw ID so that the IDs can be delta-encoded, and so that the same values always encode to the same bytes
+		var sortedValues = new Int2ObjectRBTreeMap<V>();
+		for (var valueEntry : entryValues.entrySet()) {
+			int rawId = registry.getRawId(valueEntry.getKey());
+			if (rawId < 0) {
+				throw new IllegalStateException("Foreign object in data holder of attachment %s: %s"
+						.formatted(attachment.id(), valueEntry.getKey()));
+			}
+
+			sortedValues.put(rawId, attachment.valueClass().cast(valueEntry.getValue()));
+		}
+
+		var packetCodec = attachment.packetCodec();
+		var buf = PacketByteBufs.create();
+		buf.writeIdentifier(registry.getKey().getValue());
+		buf.writeIdentifier(attachment.id());
+		buf.writeBoolean(rawIdKeys);
+
+		if (rawIdKeys) {
+			// Lets the client double-check that both sides agree on the raw IDs
+			buf.writeLong(registryFingerprint);
+		}
+
+		buf.writeBoolean(packetCodec != null);
+		buf.writeVarInt(sortedValues.size());
+
+		int previousRawId = 0;
+		for (var valueEntry : sortedValues.int2ObjectEntrySet()) {
+			int rawId = valueEntry.getIntKey();
+			var entryId = registry.getId(registry.get(rawId));
+
+			if (rawIdKeys) {
+				buf.writeVarInt(rawId - previousRawId);
+				previousRawId = rawId;
+			} else {
+				buf.writeIdentifier(entryId);
+			}
+
+			if (packetCodec != null) {
+				packetCodec.encode(buf, valueEntry.getValue());
+			} else {
+				var wrapper = new NbtCompound();
+				wrapper.put(NBT_VALUE_KEY, attachment.codec()
+						.encodeStart(NbtOps.INSTANCE, valueEntry.getValue())
+						.getOrThrow(false, msg -> {
+							throw new IllegalStateException("Failed to encode value for attachment %s of registry entry %s: %s"
+									.formatted(attachment.id(), entryId, msg));
+						}));
+				buf.writeNbt(wrapper);
+			}
+		}
+
+		return buf;
+	}
+
+	private static void sendSyncPackets(ClientConnection connection, PacketSender sender) {
+		var attachments = getEncodedAttachments();
+		// Clients which did not report their registries are sent identifiers, which are always safe
+		Set<Identifier> rawIdRegistries = RAW_ID_REGISTRIES.getOrDefault(connection, Set.of());
+
+		var beginBuf = PacketByteBufs.create();
+		beginBuf.writeLong(encodedAttachmentsHash);
+		beginBuf.writeVarInt(attachments.size());
+		sender.sendPacket(BEGIN_PACKET_ID, beginBuf);
+
+		int rawIdKeyed = 0;
+
+		for (var attachment : attachments) {
+			boolean rawIdKeys = rawIdRegistries.contains(attachment.registryId());
+			var buf = attachment.get(rawIdKeys);
+			sender.sendPacketAndRelease(PACKET_ID, PacketByteBufs.retainedDuplicate(buf));
+
+			if (rawIdKeys) {
+				rawIdKeyed++;
+			}
+		}
+
+		Initializer.LOGGER.debug("Sent {} attachment sync packets to {}, {} of them keyed by raw IDs",
+				attachments.size(), connection.getAddress(), rawIdKeyed);
 	}
 
 	public static void syncAttachmentsToAllPlayers() {
@@ -97,114 +375,184 @@ public final class RegistryEntryAttachmentSync {
 		}
 
 		for (var player : server.getPlayerManager().getPlayerList()) {
-			for (var buf : createSyncPackets()) {
-				ServerPlayNetworking.send(player, PACKET_ID, buf);
+			var connection = player.networkHandler.getConnection();
+
+			if (!connection.isLocal()) {
+				sendSyncPackets(connection, ServerPlayNetworking.getSender(player));
 			}
 		}
 	}
 
 	public static void clearEncodedValuesCache() {
-		ENCODED_VALUES_CACHE.clear();
+		UP_TO_DATE_CONNECTIONS.clear();
+
+		if (encodedAttachments != null) {
+			// Packets still in flight hold their own references
+			for (var attachment : encodedAttachments) {
+				attachment.release();
+			}
+
+			encodedAttachments = null;
+		}
+
+		// The data holders are shared with the client in singleplayer, which makes the hash it holds stale
+		hasSyncedHash = false;
 	}
 
-	@SuppressWarnings("unchecked")
-	private static void fillEncodedValuesCache() {
-		if (!ENCODED_VALUES_CACHE.isEmpty()) {
+	private static void syncAttachmentsToPlayer(ServerPlayNetworkHandler handler, PacketSender sender, MinecraftServer server) {
+		var connection = handler.getConnection();
+
+		if (connection.isLocal()) {
+			return;
+		}
+
+		if (UP_TO_DATE_CONNECTIONS.remove(connection)) {
+			Initializer.LOGGER.debug("Skipped attachment sync to {}, which already holds the synced values", connection.getAddress());
 			return;
 		}
 
-		for (var registryEntry : Registry.REGISTRIES.getEntries()) {
-			var registry = (Registry<Object>) registryEntry.getValue();
-			var dataHolder = RegistryEntryAttachmentHolder.getData(registry);
+		sendSyncPackets(connection, sender);
+	}
 
-			for (var attachmentEntry : RegistryEntryAttachmentHolder.getAttachmentEntries(registry)) {
-				var attachment = (RegistryEntryAttachment<Object, Object>) attachmentEntry.getValue();
-				if (attachment.side() != RegistryEntryAttachment.Side.BOTH) {
-					continue;
-				}
+	@Environment(EnvType.CLIENT)
+	@SuppressWarnings("unchecked")
+	private static void receiveBeginPacket(MinecraftClient client, ClientPlayNetworkHandler handler, PacketByteBuf buf, PacketSender responseSender) {
+		long hash = buf.readLong();
+		int packetCount = buf.readVarInt();
+
+		client.execute(() -> {
+			hasSyncedHash = false;
 
-				@SuppressWarnings("UnstableApiUsage")
-				Table<String, String, NbtElement> myTable = Tables.newCustomTable(new Object2ReferenceOpenHashMap<>(), Object2ReferenceOpenHashMap::new);
-				Map<Object, Object> entryValues = dataHolder.valueTable.rowMap().get(attachmentEntry.getValue());
-				if (entryValues != null) {
-					for (var valueEntry : entryValues.entrySet()) {
-						var entryId = registry.getId(valueEntry.getKey());
-						if (entryId == null) {
-							throw new IllegalStateException("Foreign object in data holder of attachment %s: %s"
-									.formatted(attachment.id(), valueEntry.getKey()));
-						}
-
-						myTable.put(entryId.getNamespace(), entryId.getPath(), attachment.codec()
-								.encodeStart(NbtOps.INSTANCE, valueEntry.getValue())
-								.getOrThrow(false, msg -> {
-									throw new IllegalStateException("Failed to encode value for attachment %s of registry entry %s: %s"
-											.formatted(attachment.id(), entryId, msg));
-								}));
+			for (var registryEntry : Registry.REGISTRIES.getEntries()) {
+				var registry = (Registry<Object>) registryEntry.getValue();
+				var holder = RegistryEntryAttachmentHolder.getData(registry);
+
+				for (var attachmentEntry : RegistryEntryAttachmentHolder.getAttachmentEntries(registry)) {
+					if (attachmentEntry.getValue().side() == RegistryEntryAttachment.Side.BOTH) {
+						holder.valueTable.row(attachmentEntry.getValue()).clear();
 					}
 				}
+			}
 
-				Set<Pair<String, NbtCompound>> valueMaps = new HashSet<>();
-				for (var tableEntry : myTable.rowMap().entrySet()) {
-					/*var valueMap = new NbtCompound();
-					for (var valueEntry : tableEntry.getValue().entrySet()) {
-						valueMap.put(valueEntry.getKey(), valueEntry.getValue());
-					}*/
-					// this is probably a horrible idea lmao
-					var valueMap = new NbtCompound(Map.copyOf(tableEntry.getValue())) {
-					};
-					valueMaps.add(new Pair<>(tableEntry.getKey(), valueMap));
-				}
+			pendingHash = hash;
+			pendingPackets = packetCount;
 
-				ENCODED_VALUES_CACHE.put(attachment.id(), new CacheEntry(attachment.registry().getKey().getValue(), valueMaps));
+			if (packetCount == 0) {
+				completeSync();
 			}
-		}
+		});
 	}
 
-	private static void syncAttachmentsToPlayer(ServerPlayNetworkHandler handler, PacketSender sender, MinecraftServer server) {
-		for (var buf : RegistryEntryAttachmentSync.createSyncPackets()) {
-			sender.sendPacket(RegistryEntryAttachmentSync.PACKET_ID, buf);
+	/**
+	 * The values of an attachment decoded from a sync packet, waiting to be applied on the client thread.
+	 */
+	private record DecodedValues<R, V>(RegistryEntryAttachment<R, V> attachment, List<R> entries, List<V> values) {
+		private void apply() {
+			var holder = RegistryEntryAttachmentHolder.getData(this.attachment.registry());
+
+			for (int i = 0; i < this.entries.size(); i++) {
+				holder.putValue(this.attachment, this.entries.get(i), this.values.get(i));
+			}
 		}
 	}
 
-	@Environment(EnvType.CLIENT)
 	@SuppressWarnings("unchecked")
-	private static void receiveSyncPacket(MinecraftClient client, ClientPlayNetworkHandler handler, PacketByteBuf buf, PacketSender responseSender) {
+	private static DecodedValues<?, ?> decodeSyncPacket(PacketByteBuf buf) {
 		var registryId = buf.readIdentifier();
 		var attachmentId = buf.readIdentifier();
-		var namespace = buf.readString();
-		var valueMap = buf.readNbt();
 
-		client.execute(() -> {
-			var registry = (Registry<Object>) Registry.REGISTRIES.get(registryId);
-			if (registry == null) {
-				throw new IllegalStateException("Unknown registry %s".formatted(registryId));
-			}
+		var registry = (Registry<Object>) Registry.REGISTRIES.get(registryId);
+		if (registry == null) {
+			throw new IllegalStateException("Unknown registry %s".formatted(registryId));
+		}
 
-			var attachment = (RegistryEntryAttachment<Object, Object>) RegistryEntryAttachmentHolder.getAttachment(registry, attachmentId);
-			if (attachment == null) {
-				throw new IllegalStateException("Unknown attachment %s for registry %s".formatted(attachmentId, registryId));
-			}
+		var attachment = (RegistryEntryAttachment<Object, Object>) RegistryEntryAttachmentHolder.getAttachment(registry, attachmentId);
+		if (attachment == null) {
+			throw new IllegalStateException("Unknown attachment %s for registry %s".formatted(attachmentId, registryId));
+		}
+
+		return decodeValues(attachment, buf);
+	}
+
+	private static <R, V> DecodedValues<R, V> decodeValues(RegistryEntryAttachment<R, V> attachment, PacketByteBuf buf) {
+		var registry = attachment.registry();
 
-			var holder = RegistryEntryAttachmentHolder.getData(registry);
-			holder.valueTable.row(attachment).clear();
-			for (var entryKey : valueMap.getKeys()) {
-				var entryId = new Identifier(namespace, entryKey);
+		boolean rawIdKeys = buf.readBoolean();
+		if (rawIdKeys && buf.readLong() != computeRegistryFingerprint(registry)) {
+			throw new IllegalStateException("Registry %s has different raw IDs on the server, cannot sync attachment %s"
+					.formatted(registry.getKey().getValue(), attachment.id()));
+		}
+
+		var packetCodec = attachment.packetCodec();
+		if (buf.readBoolean() != (packetCodec != null)) {
+			throw new IllegalStateException("Attachment %s is synced differently by the server".formatted(attachment.id()));
+		}
 
-				var registryObject = registry.get(entryId);
-				if (registryObject == null) {
+		int size = buf.readVarInt();
+		var entries = new ArrayList<R>(Math.min(size, registry.size()));
+		var values = new ArrayList<V>(Math.min(size, registry.size()));
+
+		int rawId = 0;
+		for (int i = 0; i < size; i++) {
+			R entry;
+			if (rawIdKeys) {
+				rawId += buf.readVarInt();
+				entry = registry.get(rawId);
+				if (entry == null) {
+					throw new IllegalStateException("Unknown raw ID %d in registry %s".formatted(rawId, registry.getKey().getValue()));
+				}
+			} else {
+				var entryId = buf.readIdentifier();
+				// Defaulted registries return their default entry for unknown identifiers
+				entry = registry.getOrEmpty(entryId).orElse(null);
+				if (entry == null) {
 					throw new IllegalStateException("Foreign ID %s".formatted(entryId));
 				}
+			}
+
+			V value;
+			if (packetCodec != null) {
+				value = packetCodec.decode(buf);
+			} else {
+				var wrapper = buf.readNbt();
+				if (wrapper == null || !wrapper.contains(NBT_VALUE_KEY)) {
+					throw new IllegalStateException("Missing value for attachment %s of registry entry %s"
+							.formatted(attachment.id(), registry.getId(entry)));
+				}
 
-				var parsedValue = attachment.codec()
-						.parse(NbtOps.INSTANCE, valueMap.get(entryKey))
+				value = attachment.codec()
+						.parse(NbtOps.INSTANCE, wrapper.get(NBT_VALUE_KEY))
 						.getOrThrow(false, msg -> {
 							throw new IllegalStateException("Failed to decode value for attachment %s of registry entry %s: %s"
-									.formatted(attachment.id(), entryId, msg));
+									.formatted(attachment.id(), registry.getId(entry), msg));
 						});
+			}
+
+			entries.add(entry);
+			values.add(value);
+		}
+
+		return new DecodedValues<>(attachment, entries, values);
+	}
+
+	@Environment(EnvType.CLIENT)
+	private static void receiveSyncPacket(MinecraftClient client, ClientPlayNetworkHandler handler, DecodedValues<?, ?> decodedValues,
+	                                      PacketSender responseSender) {
+		decodedValues.apply();
 
-				holder.putValue(attachment, registryObject, parsedValue);
+		if (pendingPackets > 0) {
+			if (--pendingPackets == 0) {
+				completeSync();
 			}
-		});
-		// TODO send "OK" response packet?
+		} else {
+			DenseAttachmentStorage.rebuild(decodedValues.attachment());
+		}
+	}
+
+	@Environment(EnvType.CLIENT)
+	private static void completeSync() {
+		DenseAttachmentStorage.rebuildAll();
+		syncedHash = pendingHash;
+		hasSyncedHash = true;
 	}
 }
@@ -39,6 +39,7 @@ import net.minecraft.util.registry.Registry;
 
 import org.quiltmc.qsl.registry.attachment.api.RegistryEntryAttachment;
 import org.quiltmc.qsl.registry.attachment.impl.AssetsHolderGuard;
+import org.quiltmc.qsl.registry.attachment.impl.DenseAttachmentStorage;
 import org.quiltmc.qsl.registry.attachment.impl.Initializer;
 import org.quiltmc.qsl.registry.attachment.impl.RegistryEntryAttachmentHolder;
 import org.quiltmc.qsl.registry.attachment.impl.RegistryEntryAttachmentSync;
@@ -201,6 +202,9 @@ public final class RegistryEntryAttachmentReloader implements SimpleResourceRelo
 				applyOne((RegistryEntryAttachment<Object, Object>) entry.getKey(), (AttachmentDictionary<Object, Object>) entry.getValue());
 			}
 
+			profiler.swap(id + "/flatten_attachments");
+			DenseAttachmentStorage.rebuildAll();
+
 			profiler.pop();
 		}
 
@@ -19,6 +19,7 @@ package org.quiltmc.qsl.registry.attachment.test;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
 import net.minecraft.text.Text;
 import net.minecraft.util.Hand;
 import net.minecraft.util.Identifier;
@@ -28,6 +29,8 @@ import net.minecraft.world.World;
 
 import org.quiltmc.loader.api.ModContainer;
 import org.quiltmc.qsl.base.api.entrypoint.ModInitializer;
+import org.quiltmc.qsl.registry.attachment.api.DefaultValueProvider;
+import org.quiltmc.qsl.registry.attachment.api.IntRegistryEntryAttachment;
 import org.quiltmc.qsl.registry.attachment.api.RegistryEntryAttachment;
 import org.quiltmc.qsl.registry.attachment.api.RegistryExtensions;
 
@@ -38,6 +41,12 @@ public class SimpleAttachmentTest implements ModInitializer {
 	public static final RegistryEntryAttachment<Item, Float> TEST_ATTACHMENT_2 =
 			RegistryEntryAttachment.floatBuilder(Registry.ITEM,
 					new Identifier("quilt", "test_attachment_2")).build();
+	// Set via datapack and synced to clients, other items fall back to their max count
+	public static final IntRegistryEntryAttachment<Item> TEST_PRIMITIVE_ATTACHMENT =
+			IntRegistryEntryAttachment.builder(Registry.ITEM,
+					new Identifier("quilt", "test_primitive_attachment"))
+					.defaultValueProvider(item -> DefaultValueProvider.Result.of(item.getMaxCount()))
+					.build();
 
 	public static final MyItem MY_ITEM = RegistryExtensions.register(Registry.ITEM,
 			new Identifier("quilt", "simple_attachment_test_item"),
@@ -61,6 +70,18 @@ public class SimpleAttachmentTest implements ModInitializer {
 				float two = TEST_ATTACHMENT_2.getValue(this)
 						.orElseThrow(() -> new RuntimeException(TEST_ATTACHMENT_2 + " not set via built-in!"));
 				user.sendMessage(Text.of("Test1 = " + one + ", Test2 = " + two), true);
+			} else {
+				int three = TEST_PRIMITIVE_ATTACHMENT.getInt(this, -1);
+
+				if (three != 3) {
+					throw new RuntimeException(TEST_PRIMITIVE_ATTACHMENT + " not synced from datapack!");
+				}
+
+				int stone = TEST_PRIMITIVE_ATTACHMENT.getInt(Items.STONE, -1);
+
+				if (stone != Items.STONE.getMaxCount()) {
+					throw new RuntimeException(TEST_PRIMITIVE_ATTACHMENT + " not computed from the default value provider!");
+				}
 			}
 			return TypedActionResult.pass(user.getStackInHand(hand));
 		}
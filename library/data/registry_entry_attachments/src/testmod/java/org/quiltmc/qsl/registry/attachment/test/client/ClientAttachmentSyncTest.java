@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.registry.attachment.test.client;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.item.Items;
+import net.minecraft.text.LiteralText;
+
+import org.quiltmc.loader.api.ModContainer;
+import org.quiltmc.qsl.base.api.entrypoint.client.ClientModInitializer;
+import org.quiltmc.qsl.lifecycle.api.client.event.ClientTickEvents;
+import org.quiltmc.qsl.networking.api.client.ClientPlayConnectionEvents;
+import org.quiltmc.qsl.registry.attachment.test.SimpleAttachmentTest;
+
+/**
+ * Checks the values synced from a dedicated server some time after joining it.
+ * <p>
+ * The first join syncs the values, keyed by raw IDs since both sides register the same items.
+ * Joining the same server again without a data reload in between skips the sync entirely,
+ * as the client reports the hash of the values it already holds. The values must survive that.
+ * Debug logging shows which path each join took.
+ */
+public class ClientAttachmentSyncTest implements ClientModInitializer {
+	private static final int CHECK_DELAY_TICKS = 40;
+
+	private static int joins;
+	private static int ticksUntilCheck = -1;
+
+	@Override
+	public void onInitializeClient(ModContainer mod) {
+		ClientPlayConnectionEvents.JOIN.register((handler, sender, client) -> {
+			if (!client.isIntegratedServerRunning()) {
+				joins++;
+				ticksUntilCheck = CHECK_DELAY_TICKS;
+			}
+		});
+		ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> ticksUntilCheck = -1);
+		ClientTickEvents.END.register(client -> {
+			if (ticksUntilCheck > 0 && --ticksUntilCheck == 0) {
+				checkSyncedValues(client);
+			}
+		});
+	}
+
+	private static void checkSyncedValues(MinecraftClient client) {
+		// Modded item, so its raw ID only matches if both sides agree on the registry
+		int value = SimpleAttachmentTest.TEST_PRIMITIVE_ATTACHMENT.getInt(SimpleAttachmentTest.MY_ITEM, -1);
+
+		if (value != 3) {
+			throw new RuntimeException(SimpleAttachmentTest.TEST_PRIMITIVE_ATTACHMENT + " holds " + value
+					+ " instead of the synced value after join " + joins + "!");
+		}
+
+		int stone = SimpleAttachmentTest.TEST_PRIMITIVE_ATTACHMENT.getInt(Items.STONE, -1);
+
+		if (stone != Items.STONE.getMaxCount()) {
+			throw new RuntimeException(SimpleAttachmentTest.TEST_PRIMITIVE_ATTACHMENT + " lost its computed default after join " + joins + "!");
+		}
+
+		client.inGameHud.getChatHud().addMessage(new LiteralText("Synced attachment values are correct after join " + joins
+				+ (joins == 1 ? ", rejoin without a reload to check the hash skip" : "")));
+	}
+}